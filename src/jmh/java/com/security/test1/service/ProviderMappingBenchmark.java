@@ -0,0 +1,75 @@
+package com.security.test1.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.security.test1.dto.OAuthAttributes;
+import com.security.test1.dto.ProviderProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 기록해 둔 제공자 사용자 정보 응답(src/jmh/resources/payloads)을 OAuthAttributes 로 만드는 비용.
+ * 콜백에서와 같이 응답 스트림을 ProviderResponseParser 로 읽는다.
+ */
+@State(Scope.Benchmark)
+public abstract class ProviderMappingBenchmark {
+
+    private ProviderResponseParser parser;
+    private byte[] google;
+    private byte[] kakao;
+    private byte[] naver;
+
+    @Setup
+    public void setUp() {
+        parser = new ProviderResponseParser(new ObjectMapper());
+        google = load("google-userinfo.json");
+        kakao = load("kakao-userinfo.json");
+        naver = load("naver-userinfo.json");
+    }
+
+    @Benchmark
+    public OAuthAttributes google() {
+        return map(OAuthProvider.GOOGLE, google);
+    }
+
+    @Benchmark
+    public OAuthAttributes kakao() {
+        return map(OAuthProvider.KAKAO, kakao);
+    }
+
+    @Benchmark
+    public OAuthAttributes naver() {
+        return map(OAuthProvider.NAVER, naver);
+    }
+
+    private OAuthAttributes map(OAuthProvider provider, byte[] payload) {
+        ProviderProfile profile = parser.parseProfile(provider, new ByteArrayInputStream(payload));
+        return OAuthAttributes.of(profile, provider.getNameAttributeKey());
+    }
+
+    private static byte[] load(String name) {
+        try (InputStream in = ProviderMappingBenchmark.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("벤치마크 응답 파일이 없습니다: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Threads(1)
+    public static class SingleThread extends ProviderMappingBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class MultiThread extends ProviderMappingBenchmark {
+    }
+}
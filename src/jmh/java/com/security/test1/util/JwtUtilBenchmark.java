@@ -0,0 +1,101 @@
+package com.security.test1.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * JwtUtil 발급/검증/클레임 추출 처리량. 검증 캐시는 끈 상태로 매번 서명을 확인한다.
+ * 클레임 프로필(full / compact)마다 따로 잰다.
+ * 단일 스레드와 전체 코어 기준을 함께 잰다 (SingleThread / MultiThread).
+ */
+@State(Scope.Benchmark)
+public abstract class JwtUtilBenchmark {
+
+    private static final long EXPIRATION = 900_000L;
+
+    // 토큰 클레임 구성 (jwt.claims.profile)
+    @Param({"full", "compact"})
+    public String claimProfile;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        JwtKeyRing keyRing = new JwtKeyRing("jwt-util-benchmark-secret-0123456789", "k1", EXPIRATION);
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 1_000, 1 << 20,
+                Duration.ofMinutes(5), keyRing, new SimpleMeterRegistry());
+        jwtUtil = new JwtUtil(keyRing, cache, new TokenRevocationList(1_000, 0.01, new SimpleMeterRegistry()),
+                new TokenProfileCache(1_000, EXPIRATION, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+        // 스프링 없이 만들므로 @Value 필드를 직접 채운다
+        Field expiration = JwtUtil.class.getDeclaredField("expiration");
+        expiration.setAccessible(true);
+        expiration.setLong(jwtUtil, EXPIRATION);
+        Field profile = JwtUtil.class.getDeclaredField("claimProfile");
+        profile.setAccessible(true);
+        profile.set(jwtUtil, claimProfile);
+
+        token = jwtUtil.generateToken("header.user@kakao.com", "홍길동",
+                "http://k.kakaocdn.net/dn/bYl4Qm/btsLx9Zp2Qa/7kFqGvN3u1wR0sTb5yXcKk/img_640x640.jpg");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("header.user@kakao.com", "홍길동",
+                "http://k.kakaocdn.net/dn/bYl4Qm/btsLx9Zp2Qa/7kFqGvN3u1wR0sTb5yXcKk/img_640x640.jpg");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public String extractName() {
+        return jwtUtil.extractName(token);
+    }
+
+    @Benchmark
+    public String extractPicture() {
+        return jwtUtil.extractPicture(token);
+    }
+
+    @Benchmark
+    public String extractSubject() {
+        return jwtUtil.extractSubject(token);
+    }
+
+    @Benchmark
+    public Date extractExpiration() {
+        return jwtUtil.extractExpiration(token);
+    }
+
+    @Benchmark
+    public Map<String, Object> extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Threads(1)
+    public static class SingleThread extends JwtUtilBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class MultiThread extends JwtUtilBenchmark {
+    }
+}
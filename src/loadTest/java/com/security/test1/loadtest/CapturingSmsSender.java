@@ -0,0 +1,24 @@
+package com.security.test1.loadtest;
+
+import com.security.test1.service.SmsSender;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 문자 대신 발송된 코드를 잡아 두었다가 LoadDriver 가 검증 요청에 쓴다. 꺼낸 코드는 지운다.
+ */
+final class CapturingSmsSender implements SmsSender {
+
+    private final Map<String, String> codes = new ConcurrentHashMap<>();
+
+    @Override
+    public void sendCode(String phone, String code, Duration ttl) {
+        codes.put(phone, code);
+    }
+
+    String take(String phone) {
+        return codes.remove(phone);
+    }
+}
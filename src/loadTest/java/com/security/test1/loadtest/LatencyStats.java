@@ -0,0 +1,72 @@
+package com.security.test1.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업 하나의 지연 시간 표본과 결과 수. 표본은 미리 잡아 둔 배열에 쌓고, 넘치면 건수만 센다.
+ */
+final class LatencyStats {
+
+    private final Operation operation;
+    private final long[] samples;
+    private final AtomicInteger sampled = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    LatencyStats(Operation operation, int capacity) {
+        this.operation = operation;
+        this.samples = new long[capacity];
+    }
+
+    void record(long latencyNanos, boolean success) {
+        completed.increment();
+        if (!success) {
+            errors.increment();
+        }
+        int index = sampled.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = latencyNanos;
+        }
+    }
+
+    // 동시 요청 한도에 걸려 보내지 못한 요청
+    void dropped() {
+        dropped.increment();
+    }
+
+    Map<String, Object> summarize(double seconds) {
+        int count = Math.min(sampled.get(), samples.length);
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("operation", operation.key());
+        summary.put("completed", completed.sum());
+        summary.put("errors", errors.sum());
+        summary.put("dropped", dropped.sum());
+        summary.put("throughputPerSec", Math.round(completed.sum() / seconds * 10) / 10.0);
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p90Ms", percentileMillis(sorted, 0.90));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("p999Ms", percentileMillis(sorted, 0.999));
+        summary.put("maxMs", count > 0 ? toMillis(sorted[count - 1]) : 0.0);
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,218 @@
+package com.security.test1.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 정해진 비율(open-loop)로 요청을 보낸다. 응답이 늦어져도 보내는 속도를 줄이지 않으며,
+ * 지연 시간은 요청을 보냈어야 할 시각부터 재므로 밀린 시간도 결과에 들어간다.
+ */
+final class LoadDriver {
+
+    private static final int TOKEN_POOL_SIZE = 64;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final Operation[] schedule;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<String> tokenPool = new ArrayList<>();
+    private final CapturingSmsSender smsSender;
+
+    LoadDriver(String baseUrl, LoadTestConfig config, CapturingSmsSender smsSender) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.smsSender = smsSender;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // 비율만큼 작업을 펼쳐 두고 무작위로 고른다
+        List<Operation> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.schedule = weighted.toArray(Operation[]::new);
+    }
+
+    Map<Operation, LatencyStats> run() throws Exception {
+        fillTokenPool();
+
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) config.rate() * config.duration().toSeconds() + 1_024);
+        Map<Operation, LatencyStats> stats = new EnumMap<>(Operation.class);
+        config.mix().keySet().forEach(operation -> stats.put(operation, new LatencyStats(operation, capacity)));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; ; n++) {
+                long intended = start + n * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                boolean measured = intended >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        stats.get(operation).dropped();
+                    }
+                    continue;
+                }
+
+                workers.execute(() -> {
+                    boolean success = false;
+                    try {
+                        success = execute(operation);
+                    } catch (Exception e) {
+                        // 연결 실패, 시간 초과 등은 오류로 센다
+                    } finally {
+                        inFlight.release();
+                    }
+                    if (measured) {
+                        stats.get(operation).record(System.nanoTime() - intended, success);
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private boolean execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case GOOGLE, KAKAO, NAVER -> oauthLogin(operation);
+            case SMS -> smsLogin() != null;
+            case VERIFY -> verify();
+        };
+    }
+
+    // 로그인 시작으로 state 를 받은 뒤 콜백을 호출하고, 리디렉션으로 받은 일회용 코드를 토큰으로 바꾸면 성공
+    private boolean oauthLogin(Operation provider) throws IOException, InterruptedException {
+        HttpResponse<Void> initiated = client.send(get("/api/auth/" + provider.key()), HttpResponse.BodyHandlers.discarding());
+        String state = queryParameter(initiated.headers().firstValue("Location").orElse(""), "state");
+        if (state == null) {
+            return false;
+        }
+
+        String callback = "/api/auth/" + provider.key() + "/callback?code=load-" + sequence.incrementAndGet()
+                + "&state=" + URLEncoder.encode(state, StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(get(callback), HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        String code = queryParameter(location, "code");
+        if (response.statusCode() != 302 || !location.contains("status=success") || code == null) {
+            return false;
+        }
+
+        HttpResponse<Void> exchanged = client.send(
+                post("/api/auth/token", "{\"code\":\"" + code + "\"}"), HttpResponse.BodyHandlers.discarding());
+        return exchanged.statusCode() == 200;
+    }
+
+    // 코드 요청 → 발송기가 잡아 둔 코드로 검증. 두 요청을 합쳐 한 번의 SMS 로그인으로 잰다
+    private String smsLogin() throws IOException, InterruptedException {
+        String phone = String.format("010%08d", sequence.incrementAndGet() % 100_000_000L);
+        HttpResponse<String> requested = client.send(
+                post("/api/auth/sms/request", "{\"phone\":\"" + phone + "\"}"), HttpResponse.BodyHandlers.ofString());
+        String code = smsSender.take(phone);
+        if (requested.statusCode() != 200 || code == null) {
+            return null;
+        }
+
+        HttpResponse<String> response = client.send(
+                post("/api/auth/sms/verify", "{\"phone\":\"" + phone + "\",\"code\":\"" + code + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode token = objectMapper.readTree(response.body()).path("data").path("token");
+        return token.isTextual() ? token.asText() : null;
+    }
+
+    private boolean verify() throws IOException, InterruptedException {
+        String token = tokenPool.get(ThreadLocalRandom.current().nextInt(tokenPool.size()));
+        HttpResponse<Void> response = client.send(
+                get("/api/auth/verify?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 200;
+    }
+
+    // /verify 가 검증할 토큰을 미리 만들어 둔다
+    private void fillTokenPool() throws IOException, InterruptedException {
+        if (!config.mix().containsKey(Operation.VERIFY)) {
+            return;
+        }
+        for (int i = 0; i < TOKEN_POOL_SIZE; i++) {
+            String token = smsLogin();
+            if (token != null) {
+                tokenPool.add(token);
+            }
+        }
+        if (tokenPool.isEmpty()) {
+            throw new IllegalStateException("검증용 토큰을 발급받지 못했습니다");
+        }
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private static String queryParameter(String url, String name) {
+        int query = url.indexOf('?');
+        if (query < 0) {
+            return null;
+        }
+        for (String pair : url.substring(query + 1).split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return pair.substring(eq + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.security.test1.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. ./gradlew loadTest -Ploadtest.rate=500 처럼 loadtest.* 시스템 프로퍼티로 받는다.
+ */
+record LoadTestConfig(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Map<Operation, Integer> mix,
+        int maxInFlight,
+        String oauthMode,
+        Duration stubLatency,
+        double stubErrorRate,
+        int stubPayloadBytes,
+        Path report
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.parseInt(property("rate", "200")),
+                DurationStyle.detectAndParse(property("duration", "30s")),
+                DurationStyle.detectAndParse(property("warmup", "5s")),
+                parseMix(property("mix", "google:1,kakao:1,naver:1,sms:2,verify:5")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                property("oauth-mode", "blocking"),
+                DurationStyle.detectAndParse(property("stub.latency", "50ms")),
+                Double.parseDouble(property("stub.error-rate", "0.0")),
+                Integer.parseInt(property("stub.payload-bytes", "0")),
+                Path.of(property("report", "build/reports/loadtest/results.json"))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    // "google:1,sms:2,verify:5" → 비율
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(Operation.from(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix 에 실행할 작업이 없습니다: " + value);
+        }
+        return mix;
+    }
+}
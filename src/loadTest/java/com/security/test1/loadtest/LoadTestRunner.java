@@ -0,0 +1,90 @@
+package com.security.test1.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.security.test1.Test1Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스텁 제공자와 애플리케이션을 한 프로세스에 띄우고 로그인/검증 엔드포인트에 부하를 건다.
+ * 실행: ./gradlew loadTest -Ploadtest.rate=500 -Ploadtest.duration=60s
+ * 결과: 콘솔 표 + loadtest.report (기본 build/reports/loadtest/results.json)
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        CapturingSmsSender smsSender = new CapturingSmsSender();
+        try (StubProviders stubs = new StubProviders(config.stubLatency(), config.stubErrorRate(), config.stubPayloadBytes());
+             ConfigurableApplicationContext context = startApplication(config, stubs, smsSender)) {
+
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("부하 테스트 시작 - %d req/s, 측정 %s (워밍업 %s), 작업 비율 %s, 스텁 지연 %s, 오류율 %.3f%n",
+                    config.rate(), config.duration(), config.warmup(), config.mix(), config.stubLatency(), config.stubErrorRate());
+
+            Map<Operation, LatencyStats> stats = new LoadDriver(baseUrl, config, smsSender).run();
+            report(config, stats);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config, StubProviders stubs,
+                                                                   CapturingSmsSender smsSender) {
+        Map<String, Object> properties = new HashMap<>(stubs.providerProperties());
+        properties.put("server.port", 0);
+        properties.put("app.oauth.mode", config.oauthMode());
+        // 스텁은 id_token 을 주지 않으므로 JWKS 조회 없이 userinfo 경로를 탄다
+        properties.put("app.oauth.google.id-token.enabled", false);
+        properties.put("jwt.secret", "load-test-secret-load-test-secret-0001");
+        // 모든 요청이 같은 IP 에서 나가므로 요청 제한을 끄고 엔드포인트 자체의 처리량을 잰다
+        properties.put("app.rate-limit.enabled", false);
+        // 기본 발송 스텁 대신 아래에서 등록하는 발송기를 쓴다
+        properties.put("app.sms.sender", "load-test");
+        properties.put("logging.level.com.security.test1", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+
+        return new SpringApplicationBuilder(Test1Application.class)
+                .properties(properties)
+                // 보낸 코드를 잡아 두는 발송기
+                .initializers(context -> context.getBeanFactory().registerSingleton("loadTestSmsSender", smsSender))
+                .run();
+    }
+
+    private static void report(LoadTestConfig config, Map<Operation, LatencyStats> stats) throws Exception {
+        double seconds = config.duration().toNanos() / 1e9;
+        List<Map<String, Object>> operations = new ArrayList<>();
+        stats.values().forEach(s -> operations.add(s.summarize(seconds)));
+
+        System.out.printf("%n%-8s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "작업", "완료", "오류", "누락", "처리량/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map<String, Object> o : operations) {
+            System.out.printf("%-8s %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    o.get("operation"), o.get("completed"), o.get("errors"), o.get("dropped"), o.get("throughputPerSec"),
+                    o.get("p50Ms"), o.get("p90Ms"), o.get("p99Ms"), o.get("p999Ms"), o.get("maxMs"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("targetRate", config.rate());
+        result.put("durationSeconds", seconds);
+        result.put("oauthMode", config.oauthMode());
+        result.put("stubLatencyMs", config.stubLatency().toMillis());
+        result.put("stubErrorRate", config.stubErrorRate());
+        result.put("stubPayloadBytes", config.stubPayloadBytes());
+        result.put("operations", operations);
+
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.report().toFile(), result);
+        System.out.println("\n결과 저장: " + config.report().toAbsolutePath());
+    }
+}
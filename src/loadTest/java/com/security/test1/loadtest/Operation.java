@@ -0,0 +1,33 @@
+package com.security.test1.loadtest;
+
+import java.util.Locale;
+
+/**
+ * 부하 테스트가 호출하는 작업. OAuth 작업은 로그인 시작(state 발급) 후 콜백을 호출한다.
+ */
+enum Operation {
+
+    GOOGLE("google"),
+    KAKAO("kakao"),
+    NAVER("naver"),
+    SMS("sms"),
+    VERIFY("verify");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean isOAuth() {
+        return this == GOOGLE || this == KAKAO || this == NAVER;
+    }
+
+    static Operation from(String key) {
+        return valueOf(key.toUpperCase(Locale.ROOT));
+    }
+}
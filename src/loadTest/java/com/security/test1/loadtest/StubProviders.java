@@ -0,0 +1,120 @@
+package com.security.test1.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Google/Kakao/Naver 토큰·사용자 정보 엔드포인트 흉내. 응답 지연, 오류율, 사용자 정보 응답 크기를 조절할 수 있다.
+ * 경로: /{provider}/token (POST), /{provider}/userinfo (GET)
+ */
+final class StubProviders implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMillis;
+    private final double errorRate;
+    private final String padding;
+    private final AtomicLong users = new AtomicLong();
+
+    StubProviders(Duration latency, double errorRate, int payloadBytes) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.errorRate = errorRate;
+        this.padding = "x".repeat(Math.max(0, payloadBytes));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        for (Operation provider : new Operation[]{Operation.GOOGLE, Operation.KAKAO, Operation.NAVER}) {
+            server.createContext("/" + provider.key() + "/token", exchange -> handle(exchange, this::tokenResponse));
+            server.createContext("/" + provider.key() + "/userinfo", exchange -> handle(exchange, () -> userInfoResponse(provider)));
+        }
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 애플리케이션이 실제 제공자 대신 스텁을 호출하도록 하는 프로퍼티.
+     */
+    Map<String, Object> providerProperties() {
+        String base = baseUrl();
+        return Map.of(
+                "spring.security.oauth2.client.provider.google.token-uri", base + "/google/token",
+                "spring.security.oauth2.client.provider.google.user-info-uri", base + "/google/userinfo",
+                "spring.security.oauth2.client.provider.kakao.token-uri", base + "/kakao/token",
+                "spring.security.oauth2.client.provider.kakao.user-info-uri", base + "/kakao/userinfo",
+                "spring.security.oauth2.client.provider.naver.token-uri", base + "/naver/token",
+                "spring.security.oauth2.client.provider.naver.user-info-uri", base + "/naver/userinfo"
+        );
+    }
+
+    private void handle(HttpExchange exchange, Supplier<String> body) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            request.readAllBytes();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                send(exchange, 503, "{\"error\":\"temporarily_unavailable\"}");
+                return;
+            }
+            send(exchange, 200, body.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String tokenResponse() {
+        return "{\"access_token\":\"stub-" + ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)
+                + "\",\"token_type\":\"bearer\",\"expires_in\":3599}";
+    }
+
+    // 제공자별 실제 응답 모양을 따르고, padding 필드로 응답 크기를 늘린다 (파서는 모르는 필드를 건너뛴다)
+    private String userInfoResponse(Operation provider) {
+        long n = users.incrementAndGet();
+        return switch (provider) {
+            case GOOGLE -> "{\"id\":\"" + n + "\",\"email\":\"user" + n + "@google.stub\",\"verified_email\":true,"
+                    + "\"name\":\"Google User " + n + "\",\"picture\":\"https://lh3.googleusercontent.com/a/stub" + n + "=s96-c\","
+                    + "\"padding\":\"" + padding + "\"}";
+            case KAKAO -> "{\"id\":" + n + ",\"kakao_account\":{\"profile\":{\"nickname\":\"Kakao User " + n + "\","
+                    + "\"profile_image_url\":\"http://k.kakaocdn.net/dn/stub" + n + "/img_640x640.jpg\"},"
+                    + "\"email\":\"user" + n + "@kakao.stub\"},\"padding\":\"" + padding + "\"}";
+            case NAVER -> "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"" + n + "\","
+                    + "\"email\":\"user" + n + "@naver.stub\",\"name\":\"Naver User " + n + "\","
+                    + "\"profile_image\":\"https://phinf.pstatic.net/stub" + n + ".jpg\"},\"padding\":\"" + padding + "\"}";
+            default -> throw new IllegalArgumentException(provider.name());
+        };
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -2,12 +2,19 @@ package com.security.test1;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class Test1Application {
 
+    // 기동 단계 기록 최대 개수 (넘는 단계는 버린다)
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(Test1Application.class, args);
+        SpringApplication application = new SpringApplication(Test1Application.class);
+        // 기동 단계별 소요 시간을 모아 두었다가 StartupTimingReporter 가 ready 시점에 로그로 남긴다
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,235 @@
+package com.security.test1.config;
+
+import com.security.test1.service.CallDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google/Kakao/Naver 호출용 HTTP 클라이언트.
+ * 호스트별 keep-alive 커넥션 풀을 재사용하고 연결/읽기/전체 타임아웃을 건다.
+ */
+@Slf4j
+@Configuration
+public class OAuthHttpClientConfig {
+
+    @Value("${app.oauth.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${app.oauth.http.read-timeout:5s}")
+    private Duration readTimeout;
+
+    @Value("${app.oauth.http.total-timeout:10s}")
+    private Duration totalTimeout;
+
+    @Value("${app.oauth.http.pool-acquire-timeout:1s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${app.oauth.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${app.oauth.http.max-connections-per-host:50}")
+    private int maxConnectionsPerHost;
+
+    @Value("${app.oauth.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Bean
+    public PoolingHttpClientConnectionManager oauthConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // httpcomponents.httpclient.pool.* (leased/available/pending) 메트릭
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "oauth").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient oauthHttpClient(PoolingHttpClientConnectionManager oauthConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(oauthConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate oauthRestTemplate(CloseableHttpClient oauthHttpClient) {
+        log.info("OAuth HTTP 클라이언트 설정 - connect: {}, read: {}, total: {}, maxPerHost: {}",
+                connectTimeout, readTimeout, totalTimeout, maxConnectionsPerHost);
+        return new RestTemplate(new DeadlineRequestFactory(oauthHttpClient, totalTimeout));
+    }
+
+    /**
+     * 요청마다 전체 타임아웃(또는 콜백의 남은 예산)이 지나면 진행 중인 요청을 취소한다.
+     * (읽기 타임아웃은 패킷 사이 간격만 제한하므로 느리게 흘러오는 응답은 막지 못한다)
+     * 응답을 닫거나 요청이 실패하면 예약한 취소를 바로 거둬들인다. 취소된 작업은 큐에서 빠지므로
+     * 큐에는 진행 중인 요청 수만큼만 남는다.
+     */
+    static class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private static final ScheduledThreadPoolExecutor CANCELLER = newCanceller();
+
+        // postProcessHttpRequest 에서 예약한 취소를 같은 스레드의 createRequest 로 넘긴다
+        private static final ThreadLocal<ScheduledFuture<?>> PENDING = new ThreadLocal<>();
+
+        private final long totalTimeoutMillis;
+
+        DeadlineRequestFactory(HttpClient httpClient, Duration totalTimeout) {
+            super(httpClient);
+            this.totalTimeoutMillis = totalTimeout.toMillis();
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            ClientHttpRequest request;
+            ScheduledFuture<?> cancellation;
+            try {
+                request = super.createRequest(uri, httpMethod);
+            } finally {
+                cancellation = PENDING.get();
+                PENDING.remove();
+            }
+            return cancellation != null ? new DeadlineRequest(request, cancellation) : request;
+        }
+
+        @Override
+        protected void postProcessHttpRequest(ClassicHttpRequest request) {
+            if (request instanceof Cancellable cancellable) {
+                PENDING.set(CANCELLER.schedule(cancellable::cancel, timeoutMillis(), TimeUnit.MILLISECONDS));
+            }
+        }
+
+        // 콜백 예산이 걸려 있으면 남은 시간이 더 짧을 때 그 시점에 취소한다
+        private long timeoutMillis() {
+            CallDeadline deadline = CallDeadline.current();
+            if (deadline == null) {
+                return totalTimeoutMillis;
+            }
+            return Math.max(1, Math.min(totalTimeoutMillis, TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos())));
+        }
+
+        private static ScheduledThreadPoolExecutor newCanceller() {
+            ScheduledThreadPoolExecutor canceller = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "oauth-http-deadline");
+                thread.setDaemon(true);
+                return thread;
+            });
+            canceller.setRemoveOnCancelPolicy(true);
+            return canceller;
+        }
+    }
+
+    /**
+     * 응답이 닫히거나 실행이 실패하면 예약된 취소를 거둬들이는 요청.
+     */
+    private record DeadlineRequest(ClientHttpRequest delegate, ScheduledFuture<?> cancellation)
+            implements ClientHttpRequest {
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return new DeadlineResponse(delegate.execute(), cancellation);
+            } catch (IOException | RuntimeException e) {
+                cancellation.cancel(false);
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return delegate.getAttributes();
+        }
+    }
+
+    private record DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> cancellation)
+            implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            cancellation.cancel(false);
+            delegate.close();
+        }
+    }
+}
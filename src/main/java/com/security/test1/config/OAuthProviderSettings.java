@@ -0,0 +1,86 @@
+package com.security.test1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Google/Kakao/Naver 클라이언트 정보와 엔드포인트.
+ * 동기(OAuthService) / 리액티브(ReactiveOAuthService) 구현이 함께 사용한다.
+ * 토큰/사용자 정보 엔드포인트는 spring.security.oauth2.client.provider.* 로 바꿀 수 있다 (부하 테스트용 스텁 등).
+ */
+@Getter
+@Component
+public class OAuthProviderSettings {
+
+    private final String googleRedirectUri = "http://localhost:8080/api/auth/google/callback";
+    private final String kakaoRedirectUri = "http://localhost:8080/api/auth/kakao/callback";
+
+    @Value("${spring.security.oauth2.client.provider.google.token-uri:https://oauth2.googleapis.com/token}")
+    private String googleTokenUri;
+
+    @Value("${spring.security.oauth2.client.provider.google.user-info-uri:https://www.googleapis.com/oauth2/v2/userinfo}")
+    private String googleUserInfoUri;
+
+    @Value("${spring.security.oauth2.client.provider.kakao.token-uri:https://kauth.kakao.com/oauth/token}")
+    private String kakaoTokenUri;
+
+    @Value("${spring.security.oauth2.client.provider.kakao.user-info-uri:https://kapi.kakao.com/v2/user/me}")
+    private String kakaoUserInfoUri;
+
+    @Value("${spring.security.oauth2.client.provider.naver.token-uri:https://nid.naver.com/oauth2.0/token}")
+    private String naverTokenUri;
+
+    @Value("${spring.security.oauth2.client.provider.naver.user-info-uri:https://openapi.naver.com/v1/nid/me}")
+    private String naverUserInfoUri;
+
+    @Value("${spring.security.oauth2.client.registration.google.client-id}")
+    private String googleClientId;
+
+    @Value("${spring.security.oauth2.client.registration.google.client-secret}")
+    private String googleClientSecret;
+
+    @Value("${spring.security.oauth2.client.registration.kakao.client-id}")
+    private String kakaoClientId;
+
+    @Value("${spring.security.oauth2.client.registration.kakao.client-secret}")
+    private String kakaoClientSecret;
+
+    @Value("${spring.security.oauth2.client.registration.naver.client-id}")
+    private String naverClientId;
+
+    @Value("${spring.security.oauth2.client.registration.naver.client-secret}")
+    private String naverClientSecret;
+
+    public MultiValueMap<String, String> googleTokenForm(String code) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("client_id", googleClientId);
+        params.add("client_secret", googleClientSecret);
+        params.add("code", code);
+        params.add("grant_type", "authorization_code");
+        params.add("redirect_uri", googleRedirectUri);
+        return params;
+    }
+
+    public MultiValueMap<String, String> kakaoTokenForm(String code) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("client_id", kakaoClientId);
+        params.add("client_secret", kakaoClientSecret);
+        params.add("code", code);
+        params.add("grant_type", "authorization_code");
+        params.add("redirect_uri", kakaoRedirectUri); // 수정된 리디렉션 URI
+        return params;
+    }
+
+    public MultiValueMap<String, String> naverTokenForm(String code, String state) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("client_id", naverClientId);
+        params.add("client_secret", naverClientSecret);
+        params.add("code", code);
+        params.add("state", state);
+        params.add("grant_type", "authorization_code");
+        return params;
+    }
+}
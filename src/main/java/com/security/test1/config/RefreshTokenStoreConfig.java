@@ -0,0 +1,27 @@
+package com.security.test1.config;
+
+import com.security.test1.store.InMemoryRefreshTokenStore;
+import com.security.test1.store.RefreshTokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리프레시 토큰 저장소. jwt.refresh.store=memory(기본값)일 때만 메모리 저장소를 만든다.
+ * 다른 구현(예: Redis)을 쓸 때는 값을 바꾸고 그 구현을 빈으로 등록한다.
+ * (@ConditionalOnMissingBean 은 자동 설정이 아닌 일반 설정 클래스에서는 빈 등록 순서에 따라 결과가 달라진다)
+ */
+@Slf4j
+@Configuration
+public class RefreshTokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "memory", matchIfMissing = true)
+    public RefreshTokenStore refreshTokenStore(@Value("${jwt.refresh.max-entries:100000}") int maxEntries,
+                                               @Value("${jwt.refresh.max-used-entries:200000}") int maxUsedEntries) {
+        log.info("메모리 리프레시 토큰 저장소 사용 - maxEntries: {}, maxUsedEntries: {}", maxEntries, maxUsedEntries);
+        return new InMemoryRefreshTokenStore(maxEntries, maxUsedEntries);
+    }
+}
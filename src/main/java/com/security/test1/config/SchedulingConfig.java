@@ -0,0 +1,10 @@
+package com.security.test1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 만료 항목 정리 같은 주기 작업용
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,11 +1,18 @@
 package com.security.test1.config;
 
+import com.security.test1.filter.JwtAuthenticationEntryPoint;
+import com.security.test1.filter.JwtAuthenticationFilter;
+import com.security.test1.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -14,8 +21,15 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@RequiredArgsConstructor
 public class SecurityConfig {
 
+    private final JwtUtil jwtUtil;
+
+    // monitoring 프로파일에서만 설정된다. 지표 엔드포인트는 이 포트로 들어온 요청에만 열린다
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -24,12 +38,27 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/", "/error", "/css/**", "/js/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(this::isManagementPortRequest).permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         .anyRequest().authenticated()
+                )
+                // 필터는 빈으로 등록하지 않는다 (서블릿 필터로 한 번 더 등록되는 것을 막기 위해)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
+                // 공개 경로에서는 잘못된 토큰을 무시하고, 인증이 필요한 경로에서만 invalid_token 으로 거절한다
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new JwtAuthenticationEntryPoint())
                 );
 
         return http.build();
     }
 
+    // 관리 포트는 외부에 열지 않는 내부망 전용이라는 전제다. 서비스 포트로 들어온 /actuator 요청은 인증이 필요하다
+    private boolean isManagementPortRequest(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort
+                && request.getServletPath().startsWith("/actuator/");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
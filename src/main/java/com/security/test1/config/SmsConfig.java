@@ -0,0 +1,27 @@
+package com.security.test1.config;
+
+import com.security.test1.service.LoggingSmsSender;
+import com.security.test1.service.SmsSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 로그만 남기는 발송 스텁은 app.sms.sender=logging 일 때만 만든다 (application.yml 의 로컬 기본값).
+ * 운영 프로파일은 이 값을 provider 로 바꾸므로 발송 업체 연동 SmsSender 빈이 없으면 기동에 실패한다.
+ * 스텁은 인증 코드를 로그에 남기므로, 운영 프로파일에서 logging 을 켜도 기동을 막는다.
+ */
+@Configuration
+public class SmsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sms.sender", havingValue = "logging")
+    public SmsSender smsSender(Environment environment) {
+        if (environment.matchesProfiles("prod")) {
+            throw new IllegalStateException(
+                    "운영 프로파일에서는 SMS 발송 스텁(app.sms.sender=logging)을 쓸 수 없습니다. 발송 업체 SmsSender 빈을 등록하세요");
+        }
+        return new LoggingSmsSender();
+    }
+}
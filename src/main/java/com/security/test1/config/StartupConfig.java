@@ -0,0 +1,22 @@
+package com.security.test1.config;
+
+import com.security.test1.service.LoginMetrics;
+import com.security.test1.util.JwtKeyRing;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * fast 프로파일(spring.main.lazy-initialization=true)에서도 기동 시 바로 만들어야 하는 빈.
+ * 키 설정 오류는 첫 요청이 아니라 기동에서 드러나야 하고, 로그인 지표와 가상 스레드 게이지는 첫 스크레이프부터 보여야 한다.
+ * (VirtualThreadConfig 는 생성자에서 게이지를 등록할 뿐 아무도 주입받지 않으므로, 지연 생성이면 끝내 만들어지지 않는다)
+ * (@Scheduled 빈은 스프링 부트가 이미 즉시 초기화한다)
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(JwtKeyRing.class, LoginMetrics.class, VirtualThreadConfig.class);
+    }
+}
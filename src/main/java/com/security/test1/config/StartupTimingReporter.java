@@ -0,0 +1,95 @@
+package com.security.test1.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기동이 끝나면(ApplicationReadyEvent) BufferingApplicationStartup 에 쌓인 단계를 모아 한 번 로그로 남긴다.
+ * 단계별 합계와 오래 걸린 빈 생성(하위 빈 포함 시간)을 보여 준다. 기록은 보고 후 비운다.
+ * Test1Application.main 으로 띄운 경우에만 기록이 있다 (테스트 컨텍스트는 보고하지 않는다).
+ */
+@Slf4j
+@Component
+public class StartupTimingReporter {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    private final boolean enabled;
+    private final int topBeans;
+
+    public StartupTimingReporter(@Value("${app.startup.report.enabled:true}") boolean enabled,
+                                 @Value("${app.startup.report.top-beans:10}") int topBeans) {
+        this.enabled = enabled;
+        this.topBeans = topBeans;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        // 보고를 끄더라도 쌓인 기록은 비워 메모리를 돌려준다
+        StartupTimeline timeline = startup.drainBufferedTimeline();
+        if (enabled) {
+            log.info(summarize(timeline.getEvents(), event.getTimeTaken(),
+                    ManagementFactory.getRuntimeMXBean().getUptime(), topBeans));
+        }
+    }
+
+    static String summarize(List<StartupTimeline.TimelineEvent> events, Duration readyTime, long jvmUptimeMillis,
+                            int topBeans) {
+        // 단계 이름별 합계 (처음 시작한 순서대로)
+        Map<String, long[]> phases = new LinkedHashMap<>();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            String name = event.getStartupStep().getName();
+            if (BEAN_STEP.equals(name)) {
+                beans.add(event);
+                continue;
+            }
+            long[] total = phases.computeIfAbsent(name, key -> new long[2]);
+            total[0]++;
+            total[1] += event.getDuration().toMillis();
+        }
+
+        StringBuilder report = new StringBuilder()
+                .append("기동 시간 보고 - ready 까지 ").append(readyTime != null ? readyTime.toMillis() : -1)
+                .append("ms (JVM 시작부터 ").append(jvmUptimeMillis).append("ms), 기록된 단계 ")
+                .append(events.size()).append("개");
+
+        report.append("\n  단계별 합계:");
+        phases.forEach((name, total) -> report.append(String.format("%n    %-55s %6dms", name, total[1]))
+                .append(total[0] > 1 ? " (" + total[0] + "회)" : ""));
+
+        report.append(String.format("%n  오래 걸린 빈 생성 상위 %d개 (하위 빈 포함, 전체 %d개):", topBeans, beans.size()));
+        beans.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topBeans)
+                .forEach(bean -> report.append(String.format("%n    %-55s %6dms",
+                        beanName(bean.getStartupStep()), bean.getDuration().toMillis())));
+        return report.toString();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "(이름 없음)";
+    }
+}
@@ -0,0 +1,55 @@
+package com.security.test1.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 Tomcat 이 요청마다 가상 스레드를 사용하므로
+ * AuthController 처리와 OAuthService 의 제공자 호출(블로킹 I/O)이 모두 가상 스레드에서 실행된다.
+ * 가상 스레드를 실제로 실행하는 캐리어(플랫폼) 스레드 수를 메트릭으로 노출한다.
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+
+    public VirtualThreadConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                               MeterRegistry meterRegistry) {
+        int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+
+        // 스크레이프할 때만 계산된다
+        Gauge.builder("jvm.threads.virtual.carriers", VirtualThreadConfig::countCarrierThreads)
+                .description("현재 살아 있는 가상 스레드 캐리어 스레드 수")
+                .register(meterRegistry);
+        Gauge.builder("jvm.threads.virtual.parallelism", () -> parallelism)
+                .description("가상 스레드 스케줄러 parallelism")
+                .register(meterRegistry);
+
+        log.info("요청 처리 스레드 모드: {} (carrier parallelism: {})",
+                virtualThreads ? "virtual" : "platform", parallelism);
+    }
+
+    // Thread.getAllStackTraces 와 달리 스택을 뜨지 않으므로 세이프포인트를 걸지 않는다
+    private static int countCarrierThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+
+        // activeCount 는 추정치이므로 여유를 둔다 (모자라면 넘치는 스레드는 빠진다)
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int size = root.enumerate(threads, true);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (CARRIER_THREAD_CLASS.equals(threads[i].getClass().getName())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -1,16 +1,51 @@
 package com.security.test1.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${app.oauth.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${app.oauth.http.read-timeout:5s}")
+    private Duration readTimeout;
+
+    @Value("${app.oauth.http.pool-acquire-timeout:1s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${app.oauth.http.max-connections-per-host:50}")
+    private int maxConnectionsPerHost;
+
+    @Value("${app.oauth.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
     @Bean
     public WebClient webClient() {
+        // 리액티브 OAuth 콜백용 (app.oauth.mode=reactive). 제공자가 지원하면 HTTP/2를 사용한다
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("oauth")
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(idleTimeout)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+
         return WebClient.builder()
-                // 필요에 따라 기본 설정 추가 가능
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,44 @@
 package com.security.test1.controller;
 
 import com.security.test1.dto.ApiResponse;
+import com.security.test1.dto.BatchVerifyRequest;
+import com.security.test1.dto.LoginCodeRequest;
 import com.security.test1.dto.OAuthAttributes;
+import com.security.test1.dto.RefreshRequest;
+import com.security.test1.dto.RevokeRequest;
 import com.security.test1.dto.SmsLoginRequest;
+import com.security.test1.dto.SmsVerifyRequest;
+import com.security.test1.dto.TokenPair;
+import com.security.test1.dto.VerifiedToken;
+import com.security.test1.service.LoginMetrics;
+import com.security.test1.service.OAuthProvider;
 import com.security.test1.service.OAuthService;
+import com.security.test1.service.ReactiveOAuthService;
+import com.security.test1.service.RefreshTokenService;
+import com.security.test1.service.SmsSender;
+import com.security.test1.store.LoginCodeStore;
+import com.security.test1.store.OAuthStateStore;
+import com.security.test1.store.OtpStore;
+import com.security.test1.util.BatchTokenVerifier;
 import com.security.test1.util.JwtUtil;
+import com.security.test1.util.LogSampler;
+import com.security.test1.util.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.view.RedirectView;
+import reactor.core.publisher.Mono;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -25,10 +48,26 @@ public class AuthController {
 
     private final JwtUtil jwtUtil;
     private final OAuthService oAuthService;
+    private final ReactiveOAuthService reactiveOAuthService;
+    private final RefreshTokenService refreshTokenService;
+    private final OAuthStateStore stateStore;
+    private final LoginMetrics loginMetrics;
+    private final LogSampler loginLogSampler;
+    private final RateLimiter rateLimiter;
+    private final OtpStore otpStore;
+    private final SmsSender smsSender;
+    private final BatchTokenVerifier batchTokenVerifier;
+    private final LoginCodeStore loginCodeStore;
 
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
+    @Value("${app.oauth.mode:blocking}")
+    private String oauthMode;
+
+    @Value("${jwt.verify.batch.max-size:500}")
+    private int maxBatchSize;
+
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
     private String googleClientId;
 
@@ -40,49 +79,52 @@ public class AuthController {
 
     @GetMapping("/google")
     public RedirectView initiateGoogleLogin() {
-        log.info("Google OAuth 로그인 시작");
+        log.debug("Google OAuth 로그인 시작");
+
+        OAuthStateStore.Entry entry = issueState(OAuthProvider.GOOGLE);
+        if (entry == null) {
+            return errorRedirect("Google 로그인 실패: 로그인 요청이 너무 많습니다");
+        }
 
         String googleAuthUrl = "https://accounts.google.com/o/oauth2/v2/auth" +
                 "?client_id=" + googleClientId +
                 "&redirect_uri=http://localhost:8080/api/auth/google/callback" +
                 "&response_type=code" +
                 "&scope=openid+profile+email" +
+                "&state=" + entry.state() +
+                "&nonce=" + entry.nonce() +
                 "&access_type=offline" +
                 "&prompt=consent";
 
-        log.info("Google 인증 URL로 리디렉션: {}", googleAuthUrl);
+        log.debug("Google 인증 URL로 리디렉션: {}", googleAuthUrl);
         return new RedirectView(googleAuthUrl);
     }
 
     @GetMapping("/google/callback")
-    public RedirectView handleGoogleCallback(@RequestParam String code) {
-        log.info("Google OAuth 콜백 처리 시작 - code: {}", code);
+    public Mono<RedirectView> handleGoogleCallback(@RequestParam String code,
+                                                   @RequestParam(required = false) String state) {
+        log.debug("Google OAuth 콜백 처리 시작");
 
-        try {
-            OAuthAttributes oAuthAttributes = oAuthService.processGoogleCallback(code);
-            String token = jwtUtil.generateToken(
-                    oAuthAttributes.getEmail(),
-                    oAuthAttributes.getName(),
-                    oAuthAttributes.getPicture()
-            );
-
-            log.info("Google 로그인 성공 - email: {}, name: {}",
-                    oAuthAttributes.getEmail(), oAuthAttributes.getName());
-
-            String redirectUrl = frontendUrl + "?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8) + "&status=success";
-            return new RedirectView(redirectUrl);
-
-        } catch (Exception e) {
-            log.error("Google OAuth 처리 실패", e);
-            String redirectUrl = frontendUrl + "?status=error&message=" +
-                    URLEncoder.encode("Google 로그인 실패: " + e.getMessage(), StandardCharsets.UTF_8);
-            return new RedirectView(redirectUrl);
+        Optional<OAuthStateStore.Entry> entry = stateStore.consume(OAuthProvider.GOOGLE, state);
+        if (entry.isEmpty()) {
+            return rejectCallback("Google", "Google 로그인 실패: ");
         }
+
+        String nonce = entry.get().nonce();
+        Mono<OAuthAttributes> attributes = isReactiveMode()
+                ? reactiveOAuthService.processGoogleCallback(code, nonce)
+                : Mono.fromCallable(() -> oAuthService.processGoogleCallback(code, nonce));
+        return toLoginRedirect(OAuthProvider.GOOGLE, "Google 로그인 실패: ", attributes);
     }
 
     @GetMapping("/kakao")
     public RedirectView initiateKakaoLogin() {
-        log.info("Kakao OAuth 로그인 시작");
+        log.debug("Kakao OAuth 로그인 시작");
+
+        OAuthStateStore.Entry entry = issueState(OAuthProvider.KAKAO);
+        if (entry == null) {
+            return errorRedirect("카카오 로그인 실패: 로그인 요청이 너무 많습니다");
+        }
 
         // URL 인코딩 없이 리디렉션 URI 설정
         String redirectUri = "http://localhost:8080/api/auth/kakao/callback";
@@ -91,118 +133,326 @@ public class AuthController {
                 "?client_id=" + kakaoClientId +
                 "&redirect_uri=" + URLEncoder.encode(redirectUri, StandardCharsets.UTF_8) +
                 "&response_type=code" +
+                "&state=" + entry.state() +
                 "&scope=" + URLEncoder.encode("profile_nickname,profile_image,account_email", StandardCharsets.UTF_8);
 
-        log.info("Kakao 인증 URL로 리디렉션: {}", kakaoAuthUrl);
+        log.debug("Kakao 인증 URL로 리디렉션: {}", kakaoAuthUrl);
         return new RedirectView(kakaoAuthUrl);
     }
 
     @GetMapping("/kakao/callback")
-    public RedirectView handleKakaoCallback(@RequestParam String code) {
-        log.info("Kakao OAuth 콜백 처리 시작 - code: {}", code);
-
-        try {
-            OAuthAttributes oAuthAttributes = oAuthService.processKakaoCallback(code);
-            String token = jwtUtil.generateToken(
-                    oAuthAttributes.getEmail(),
-                    oAuthAttributes.getName(),
-                    oAuthAttributes.getPicture()
-            );
+    public Mono<RedirectView> handleKakaoCallback(@RequestParam String code,
+                                                  @RequestParam(required = false) String state) {
+        log.debug("Kakao OAuth 콜백 처리 시작");
 
-            log.info("Kakao 로그인 성공 - email: {}, name: {}",
-                    oAuthAttributes.getEmail(), oAuthAttributes.getName());
-
-            String redirectUrl = frontendUrl + "?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8) + "&status=success";
-            return new RedirectView(redirectUrl);
-
-        } catch (Exception e) {
-            log.error("Kakao OAuth 처리 실패", e);
-            String redirectUrl = frontendUrl + "?status=error&message=" +
-                    URLEncoder.encode("카카오 로그인 실패: " + e.getMessage(), StandardCharsets.UTF_8);
-            return new RedirectView(redirectUrl);
+        if (stateStore.consume(OAuthProvider.KAKAO, state).isEmpty()) {
+            return rejectCallback("Kakao", "카카오 로그인 실패: ");
         }
+
+        Mono<OAuthAttributes> attributes = isReactiveMode()
+                ? reactiveOAuthService.processKakaoCallback(code)
+                : Mono.fromCallable(() -> oAuthService.processKakaoCallback(code));
+        return toLoginRedirect(OAuthProvider.KAKAO, "카카오 로그인 실패: ", attributes);
     }
 
     @GetMapping("/naver")
     public RedirectView initiateNaverLogin() {
-        log.info("Naver OAuth 로그인 시작");
+        log.debug("Naver OAuth 로그인 시작");
+
+        OAuthStateStore.Entry entry = issueState(OAuthProvider.NAVER);
+        if (entry == null) {
+            return errorRedirect("네이버 로그인 실패: 로그인 요청이 너무 많습니다");
+        }
 
-        String state = UUID.randomUUID().toString(); // 랜덤 state 생성
         String redirectUri = URLEncoder.encode("http://localhost:8080/api/auth/naver/callback", StandardCharsets.UTF_8);
 
         String naverAuthUrl = "https://nid.naver.com/oauth2.0/authorize" +
                 "?client_id=" + naverClientId +
                 "&response_type=code" +
                 "&redirect_uri=" + redirectUri +
-                "&state=" + state +
+                "&state=" + entry.state() +
                 "&scope=name,email,profile_image";
 
-        log.info("Naver 인증 URL로 리디렉션: {}", naverAuthUrl);
+        log.debug("Naver 인증 URL로 리디렉션: {}", naverAuthUrl);
         return new RedirectView(naverAuthUrl);
     }
 
     @GetMapping("/naver/callback")
-    public RedirectView handleNaverCallback(@RequestParam String code, @RequestParam String state) {
-        log.info("Naver OAuth 콜백 처리 시작 - code: {}, state: {}", code, state);
+    public Mono<RedirectView> handleNaverCallback(@RequestParam String code,
+                                                  @RequestParam(required = false) String state) {
+        log.debug("Naver OAuth 콜백 처리 시작");
 
+        if (stateStore.consume(OAuthProvider.NAVER, state).isEmpty()) {
+            return rejectCallback("Naver", "네이버 로그인 실패: ");
+        }
+
+        Mono<OAuthAttributes> attributes = isReactiveMode()
+                ? reactiveOAuthService.processNaverCallback(code, state)
+                : Mono.fromCallable(() -> oAuthService.processNaverCallback(code, state));
+        return toLoginRedirect(OAuthProvider.NAVER, "네이버 로그인 실패: ", attributes);
+    }
+
+    private boolean isReactiveMode() {
+        return "reactive".equals(oauthMode);
+    }
+
+    private OAuthStateStore.Entry issueState(OAuthProvider provider) {
         try {
-            OAuthAttributes oAuthAttributes = oAuthService.processNaverCallback(code, state);
-            String token = jwtUtil.generateToken(
-                    oAuthAttributes.getEmail(),
-                    oAuthAttributes.getName(),
-                    oAuthAttributes.getPicture()
-            );
+            return stateStore.issue(provider);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    // 발급하지 않았거나 이미 사용된 state 는 제공자를 호출하기 전에 거절한다
+    private Mono<RedirectView> rejectCallback(String provider, String errorPrefix) {
+        log.warn("{} OAuth 콜백 거절 - 유효하지 않거나 만료된 state", provider);
+        return Mono.just(errorRedirect(errorPrefix + "유효하지 않은 로그인 요청입니다"));
+    }
+
+    private RedirectView errorRedirect(String message) {
+        return new RedirectView(frontendUrl + "?status=error&message=" + URLEncoder.encode(message, StandardCharsets.UTF_8));
+    }
+
+    // blocking 모드에서는 요청 스레드에서 바로 실행되고, reactive 모드에서는 제공자 응답을 기다리는 동안 스레드를 반환한다
+    private Mono<RedirectView> toLoginRedirect(OAuthProvider provider, String errorPrefix, Mono<OAuthAttributes> attributes) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attributes
+                    .map(oAuthAttributes -> {
+                        TokenPair tokens = loginMetrics.time(provider, LoginMetrics.Phase.ISSUE, () -> refreshTokenService.issue(
+                                oAuthAttributes.getEmail(),
+                                oAuthAttributes.getName(),
+                                oAuthAttributes.getPicture()
+                        ));
+
+                        if (log.isInfoEnabled() && loginLogSampler.tryAcquire()) {
+                            log.info("{} 로그인 성공 - email: {} (생략된 로그인 로그: {}건)",
+                                    provider.getDisplayName(), oAuthAttributes.getEmail(), loginLogSampler.drainSuppressed());
+                        }
+
+                        // 토큰은 URL 에 싣지 않는다. 프론트엔드가 일회용 코드를 POST /api/auth/token 으로 바꾼다
+                        String redirectUrl = frontendUrl + "?code=" + loginCodeStore.issue(tokens) + "&status=success";
+                        loginMetrics.record(provider, LoginMetrics.Phase.LOGIN, start, true);
+                        return new RedirectView(redirectUrl);
+                    })
+                    .onErrorResume(e -> {
+                        loginMetrics.record(provider, LoginMetrics.Phase.LOGIN, start, false);
+                        log.error("{} OAuth 처리 실패", provider.getDisplayName(), e);
+                        return Mono.just(errorRedirect(errorPrefix + e.getMessage()));
+                    });
+        });
+    }
+
+    /**
+     * SMS 로그인 1단계: 인증 코드를 발급해 문자로 보낸다.
+     */
+    @PostMapping("/sms/request")
+    public ResponseEntity<ApiResponse> requestSmsCode(@RequestBody SmsLoginRequest request) {
+        log.debug("SMS 인증 코드 요청");
+
+        String phone = phoneKey(request.getPhone());
+        if (phone.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "전화번호가 필요합니다", null));
+        }
 
-            log.info("Naver 로그인 성공 - email: {}, name: {}",
-                    oAuthAttributes.getEmail(), oAuthAttributes.getName());
+        // IP 기준 제한은 RateLimitFilter 가 먼저 한다. 번호 기준 제한은 문자 발송 비용도 막는다
+        long retryAfterMillis = rateLimiter.tryAcquire(RateLimiter.Policy.SMS_PHONE, phone);
+        if (retryAfterMillis > 0) {
+            return tooManyRequests(retryAfterMillis);
+        }
+        // 틀린 횟수를 다 쓴 번호는 잠금이 풀릴 때까지 새 코드를 보내지 않는다
+        long lockedMillis = otpStore.lockedForMillis(phone);
+        if (lockedMillis > 0) {
+            return tooManyRequests(lockedMillis);
+        }
 
-            String redirectUrl = frontendUrl + "?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8) + "&status=success";
-            return new RedirectView(redirectUrl);
+        String code;
+        try {
+            code = otpStore.issue(phone);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
 
+        try {
+            smsSender.sendCode(phone, code, otpStore.ttl());
         } catch (Exception e) {
-            log.error("Naver OAuth 처리 실패", e);
-            String redirectUrl = frontendUrl + "?status=error&message=" +
-                    URLEncoder.encode("네이버 로그인 실패: " + e.getMessage(), StandardCharsets.UTF_8);
-            return new RedirectView(redirectUrl);
+            otpStore.discard(phone, code);
+            log.error("SMS 인증 코드 발송 실패", e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .body(new ApiResponse(false, "인증 코드를 보내지 못했습니다. 잠시 후 다시 시도해 주세요", null));
         }
+
+        return ResponseEntity.ok(new ApiResponse(true, "인증 코드를 보냈습니다",
+                Map.of("expiresIn", otpStore.ttl().toSeconds())));
     }
 
+    /**
+     * 예전 한 단계 SMS 로그인 주소. 이제는 토큰을 바로 주지 않고 /sms/request 와 같이 인증 코드만 보낸다.
+     * 기존 클라이언트가 404 를 받지 않도록 남겨 두고, Deprecation/Link 헤더로 새 주소를 알린다.
+     */
+    @Deprecated
     @PostMapping("/sms")
     public ResponseEntity<ApiResponse> smsLogin(@RequestBody SmsLoginRequest request) {
-        log.info("SMS 로그인 요청 - phone: {}", request.getPhone());
+        log.debug("SMS 로그인 요청 (지원 중단 주소)");
+        ResponseEntity<ApiResponse> response = requestSmsCode(request);
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/auth/sms/request>; rel=\"successor-version\"")
+                .body(response.getBody());
+    }
 
-        try {
-            String token = jwtUtil.generateToken(request.getPhone() + "@sms.com", "SMS User", null);
-            ApiResponse response = new ApiResponse(true, "SMS 로그인 성공", Map.of("token", token));
+    /**
+     * SMS 로그인 2단계: 코드가 맞으면 토큰을 발급한다.
+     */
+    @PostMapping("/sms/verify")
+    public ResponseEntity<ApiResponse> verifySmsCode(@RequestBody SmsVerifyRequest request) {
+        log.debug("SMS 인증 코드 검증 요청");
+
+        String phone = phoneKey(request.getPhone());
+        long start = System.nanoTime();
+        OtpStore.VerifyResult result = phone.isEmpty()
+                ? OtpStore.VerifyResult.EXPIRED
+                : otpStore.verify(phone, request.getCode());
+        if (result != OtpStore.VerifyResult.VERIFIED) {
+            loginMetrics.recordSms(LoginMetrics.Phase.LOGIN, start, false);
+            log.debug("SMS 인증 실패 - result: {}", result);
+            String message = switch (result) {
+                case MISMATCH -> "인증 코드가 일치하지 않습니다";
+                case ATTEMPTS_EXCEEDED -> "인증 시도 횟수를 넘었습니다. 잠시 후 코드를 다시 요청해 주세요";
+                default -> "인증 코드가 없거나 만료되었습니다. 코드를 다시 요청해 주세요";
+            };
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiResponse(false, message, null));
+        }
 
-            log.info("SMS 로그인 성공");
+        try {
+            TokenPair tokens = loginMetrics.timeSms(LoginMetrics.Phase.ISSUE,
+                    () -> refreshTokenService.issue(phone + "@sms.com", "SMS User", null));
+            ApiResponse response = new ApiResponse(true, "SMS 로그인 성공", toTokenResponse(tokens));
+            loginMetrics.recordSms(LoginMetrics.Phase.LOGIN, start, true);
+
+            if (log.isInfoEnabled() && loginLogSampler.tryAcquire()) {
+                log.info("SMS 로그인 성공 (생략된 로그인 로그: {}건)", loginLogSampler.drainSuppressed());
+            }
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
+            loginMetrics.recordSms(LoginMetrics.Phase.LOGIN, start, false);
             log.error("SMS 로그인 실패", e);
             ApiResponse response = new ApiResponse(false, "SMS 로그인 실패: " + e.getMessage(), null);
             return ResponseEntity.badRequest().body(response);
         }
     }
 
+    // 표기만 다른 같은 번호(하이픈, 공백 등)가 서로 다른 버킷을 쓰지 않도록 숫자만 남긴다
+    private static String phoneKey(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static ResponseEntity<ApiResponse> tooManyRequests(long retryAfterMillis) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(retryAfterMillis)))
+                .body(new ApiResponse(false, "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요", null));
+    }
+
+    /**
+     * OAuth 로그인 리디렉션으로 받은 일회용 코드를 토큰 쌍으로 바꾼다.
+     */
+    @PostMapping("/token")
+    public ResponseEntity<ApiResponse> exchangeLoginCode(@RequestBody LoginCodeRequest request) {
+        return loginCodeStore.redeem(request.getCode())
+                .map(tokens -> ResponseEntity.ok(new ApiResponse(true, "로그인 성공", toTokenResponse(tokens))))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ApiResponse(false, "유효하지 않거나 만료된 로그인 코드입니다", null)));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse> refresh(@RequestBody RefreshRequest request) {
+        return refreshTokenService.refresh(request.getRefreshToken())
+                .map(tokens -> ResponseEntity.ok(new ApiResponse(true, "토큰 갱신 성공", toTokenResponse(tokens))))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ApiResponse(false, "유효하지 않은 리프레시 토큰입니다", null)));
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse> revoke(@RequestBody RevokeRequest request) {
+        if (!jwtUtil.revoke(request.getToken())) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "유효하지 않은 토큰입니다", null));
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "토큰이 폐기되었습니다", null));
+    }
+
+    private static Map<String, Object> toTokenResponse(TokenPair tokens) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("token", tokens.accessToken());
+        data.put("refreshToken", tokens.refreshToken());
+        data.put("expiresIn", tokens.expiresIn());
+        return data;
+    }
+
     @GetMapping("/verify")
     public ResponseEntity<ApiResponse> verifyToken(@RequestParam String token) {
-        log.info("토큰 검증 요청");
+        log.debug("토큰 검증 요청");
 
-        if (jwtUtil.validateToken(token)) {
-            Map<String, Object> userInfo = Map.of(
-                    "email", jwtUtil.extractEmail(token),
-                    "name", jwtUtil.extractName(token),
-                    "picture", jwtUtil.extractPicture(token)
-            );
+        VerifiedToken verified = jwtUtil.verify(token);
+        if (verified.isValid()) {
+            Map<String, Object> userInfo = verified.toUserInfo();
 
-            log.info("토큰 검증 성공 - email: {}", userInfo.get("email"));
+            log.debug("토큰 검증 성공 - email: {}", userInfo.get("email"));
             ApiResponse response = new ApiResponse(true, "토큰이 유효합니다", userInfo);
             return ResponseEntity.ok(response);
         } else {
-            log.warn("토큰 검증 실패 - 유효하지 않은 토큰");
+            log.debug("토큰 검증 실패 - reason: {}", verified.failureReason());
             ApiResponse response = new ApiResponse(false, "유효하지 않은 토큰입니다", null);
             return ResponseEntity.status(401).body(response);
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/verify/batch")
+    public ResponseEntity<ApiResponse> verifyTokens(@RequestBody BatchVerifyRequest request) {
+        List<String> tokens = request.getTokens();
+        if (tokens == null || tokens.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "검증할 토큰이 없습니다", null));
+        }
+        if (tokens.size() > maxBatchSize) {
+            log.warn("토큰 일괄 검증 거부 - 요청 수: {}, 최대: {}", tokens.size(), maxBatchSize);
+            ApiResponse response = new ApiResponse(false, "한 번에 검증할 수 있는 토큰은 최대 " + maxBatchSize + "개입니다", null);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+        }
+
+        // 큰 배치는 전용 스레드 풀에서 나눠 검증한다 (순서는 입력 순서 그대로 유지됨)
+        List<Map<String, Object>> results = batchTokenVerifier.verifyAll(tokens).stream()
+                .map(AuthController::toBatchResult)
+                .toList();
+
+        log.debug("토큰 일괄 검증 완료 - 요청 수: {}", tokens.size());
+        return ResponseEntity.ok(new ApiResponse(true, "토큰 일괄 검증 완료", results));
+    }
+
+    private static Map<String, Object> toBatchResult(VerifiedToken verified) {
+        if (!verified.isValid()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("valid", false);
+            result.put("reason", verified.failureReason());
+            return result;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("valid", true);
+        result.putAll(verified.toUserInfo());
+        result.put("expiresAt", verified.expiresAt());
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.security.test1.controller;
+
+import com.security.test1.util.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @Value("${jwt.jwks.max-age:5m}")
+    private Duration maxAge;
+
+    // 다른 서비스가 ES256 토큰을 직접 검증할 수 있도록 공개키를 공개한다 (ETag 일치 시 304)
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        JwtKeyRing.JwkSet jwkSet = keyRing.jwkSet();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .eTag(jwkSet.etag())
+                .body(jwkSet.body());
+    }
+}
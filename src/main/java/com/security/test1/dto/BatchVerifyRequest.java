@@ -0,0 +1,10 @@
+package com.security.test1.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchVerifyRequest {
+    private List<String> tokens;
+}
@@ -0,0 +1,8 @@
+package com.security.test1.dto;
+
+import lombok.Data;
+
+@Data
+public class LoginCodeRequest {
+    private String code;
+}
@@ -2,6 +2,7 @@ package com.security.test1.dto;
 
 import lombok.Getter;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Getter
@@ -21,36 +22,17 @@ public class OAuthAttributes {
         this.picture = picture;
     }
 
-    // OAuth 제공자에 따라 객체 생성
-    public static OAuthAttributes of(String registrationId, String userNameAttributeName, Map<String, Object> attributes) {
-        if ("google".equals(registrationId)) {
-            return ofGoogle(userNameAttributeName, attributes);
-        } else if ("kakao".equals(registrationId)) {
-            return ofKakao(userNameAttributeName, attributes);
-        }
-        throw new IllegalArgumentException("지원하지 않는 OAuth 제공자: " + registrationId);
-    }
-
-    private static OAuthAttributes ofGoogle(String userNameAttributeName, Map<String, Object> attributes) {
-        return new OAuthAttributes(
-                attributes,
-                userNameAttributeName,
-                (String) attributes.get("name"),
-                (String) attributes.get("email"),
-                (String) attributes.get("picture")
-        );
-    }
-
-    private static OAuthAttributes ofKakao(String userNameAttributeName, Map<String, Object> attributes) {
-        Map<String, Object> kakaoAccount = (Map<String, Object>) attributes.get("kakao_account");
-        Map<String, Object> profile = (Map<String, Object>) kakaoAccount.get("profile");
+    // 스트리밍 파싱된 제공자 사용자 정보로 생성
+    public static OAuthAttributes of(ProviderProfile profile, String nameAttributeKey) {
+        Map<String, Object> attributes = new HashMap<>(2);
+        attributes.put(nameAttributeKey, profile.id());
 
         return new OAuthAttributes(
                 attributes,
-                userNameAttributeName,
-                (String) profile.get("nickname"),
-                (String) kakaoAccount.get("email"),
-                (String) profile.get("profile_image_url")
+                nameAttributeKey,
+                profile.name(),
+                profile.email(),
+                profile.picture()
         );
     }
 }
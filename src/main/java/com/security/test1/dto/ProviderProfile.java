@@ -0,0 +1,5 @@
+package com.security.test1.dto;
+
+// 제공자 사용자 정보 응답에서 사용하는 필드만 담는다
+public record ProviderProfile(String id, String email, String name, String picture) {
+}
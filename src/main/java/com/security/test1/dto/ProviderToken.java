@@ -0,0 +1,5 @@
+package com.security.test1.dto;
+
+// 제공자 토큰 응답에서 사용하는 필드만 담는다 (idToken 은 Google 에서만 온다)
+public record ProviderToken(String accessToken, Long expiresIn, String idToken) {
+}
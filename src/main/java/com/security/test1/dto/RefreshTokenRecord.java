@@ -0,0 +1,18 @@
+package com.security.test1.dto;
+
+import java.time.Instant;
+
+// 리프레시 토큰 하나에 묶인 사용자 정보. 새 액세스 토큰을 만드는 데 필요한 값만 담는다
+// familyId 는 같은 로그인에서 교체되며 이어진 토큰들이 공유한다
+public record RefreshTokenRecord(
+        String email,
+        String name,
+        String picture,
+        String familyId,
+        Instant expiresAt
+) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,8 @@
+package com.security.test1.dto;
+
+import lombok.Data;
+
+@Data
+public class RevokeRequest {
+    private String token;
+}
@@ -0,0 +1,9 @@
+package com.security.test1.dto;
+
+import lombok.Data;
+
+@Data
+public class SmsVerifyRequest {
+    private String phone;
+    private String code;
+}
@@ -0,0 +1,5 @@
+package com.security.test1.dto;
+
+// 로그인/갱신 시 함께 발급하는 액세스 토큰과 리프레시 토큰
+public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+}
@@ -0,0 +1,49 @@
+package com.security.test1.dto;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 한 번의 서명 검증으로 얻은 토큰 정보 (실패 시 failureReason만 채워짐)
+public record VerifiedToken(
+        String subject,
+        String tokenId,
+        String email,
+        String name,
+        String picture,
+        Instant issuedAt,
+        Instant expiresAt,
+        FailureReason failureReason
+) {
+
+    public enum FailureReason {
+        EXPIRED,
+        UNSUPPORTED,
+        MALFORMED,
+        INVALID_SIGNATURE,
+        REVOKED,
+        EMPTY,
+        UNKNOWN
+    }
+
+    public static VerifiedToken valid(String subject, String tokenId, String email, String name, String picture,
+                                      Instant issuedAt, Instant expiresAt) {
+        return new VerifiedToken(subject, tokenId, email, name, picture, issuedAt, expiresAt, null);
+    }
+
+    public static VerifiedToken failure(FailureReason reason) {
+        return new VerifiedToken(null, null, null, null, null, null, null, reason);
+    }
+
+    public boolean isValid() {
+        return failureReason == null;
+    }
+
+    public Map<String, Object> toUserInfo() {
+        Map<String, Object> userInfo = new LinkedHashMap<>();
+        userInfo.put("email", email);
+        userInfo.put("name", name);
+        userInfo.put("picture", picture);
+        return userInfo;
+    }
+}
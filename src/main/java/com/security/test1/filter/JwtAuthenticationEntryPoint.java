@@ -0,0 +1,35 @@
+package com.security.test1.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 인증이 필요한 경로의 401 응답. JwtAuthenticationFilter 가 잘못된 토큰을 표시해 둔 요청에는
+ * invalid_token 헤더와 JSON 본문을, 토큰이 아예 없는 요청에는 빈 401 을 돌려준다.
+ */
+public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    private static final byte[] INVALID_TOKEN_BODY =
+            "{\"success\":false,\"message\":\"유효하지 않은 토큰입니다\",\"data\":null}".getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        if (request.getAttribute(JwtAuthenticationFilter.INVALID_TOKEN_ATTRIBUTE) == null) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(INVALID_TOKEN_BODY.length);
+        response.getOutputStream().write(INVALID_TOKEN_BODY);
+    }
+}
@@ -0,0 +1,102 @@
+package com.security.test1.filter;
+
+import com.security.test1.dto.VerifiedToken;
+import com.security.test1.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer 헤더의 JWT를 검증해 SecurityContext를 채운다. 세션은 만들지 않는다.
+ * 형식이 맞지 않는 토큰은 서명 검증 없이 걸러낸다. 유효하지 않은 토큰은 여기서 바로 거절하지 않고 인증 없이 넘기며,
+ * 인증이 필요한 경로라면 JwtAuthenticationEntryPoint 가 invalid_token 401 을 돌려준다.
+ * 공개 경로(/, JWKS, health 등)에서는 잘못된 토큰을 무시한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int MIN_TOKEN_LENGTH = 16;
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    // 거절 사유를 진입점에 넘기는 요청 속성
+    public static final String INVALID_TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".INVALID_TOKEN";
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 로그인/검증 엔드포인트는 토큰 없이 호출된다
+        return request.getServletPath().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!isCompactJws(header, BEARER_PREFIX.length())) {
+            log.debug("Bearer 토큰 형식 오류 - uri: {}", request.getRequestURI());
+            request.setAttribute(INVALID_TOKEN_ATTRIBUTE, VerifiedToken.FailureReason.MALFORMED);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedToken verified = jwtUtil.verify(header.substring(BEARER_PREFIX.length()));
+        if (!verified.isValid()) {
+            log.debug("Bearer 토큰 검증 실패 - reason: {}", verified.failureReason());
+            request.setAttribute(INVALID_TOKEN_ATTRIBUTE, verified.failureReason());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(verified.subject(), null, AUTHORITIES);
+        authentication.setDetails(verified);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+
+    // header.substring 없이 길이, 문자 집합, 점 개수만 확인한다
+    private static boolean isCompactJws(String header, int from) {
+        int length = header.length() - from;
+        if (length < MIN_TOKEN_LENGTH || length > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+
+        int dots = 0;
+        for (int i = from; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return dots == 2;
+    }
+}
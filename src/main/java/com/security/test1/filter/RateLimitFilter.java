@@ -0,0 +1,90 @@
+package com.security.test1.filter;
+
+import com.security.test1.util.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * SMS 로그인, OAuth 로그인 시작과 콜백, 토큰 일괄 검증을 클라이언트 IP 별로 제한한다. 본문을 읽거나 제공자를 호출하기 전에 거절하므로
+ * 거절 비용은 버킷 CAS 한 번과 고정된 응답 쓰기뿐이다. 전화번호 기준 제한은 본문을 읽은 뒤 AuthController 에서 한다.
+ * 프록시 뒤에서는 server.forward-headers-strategy 로 remoteAddr 가 실제 클라이언트 IP 가 되도록 설정해야 한다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PREFIX = "/api/auth/";
+    private static final Set<String> OAUTH_START_PATHS = Set.of(
+            AUTH_PREFIX + "google", AUTH_PREFIX + "kakao", AUTH_PREFIX + "naver");
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"success\":false,\"message\":\"요청이 너무 많습니다. 잠시 후 다시 시도해 주세요\",\"data\":null}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith(AUTH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Policy policy = policyOf(request);
+        if (policy != null) {
+            long retryAfterMillis = rateLimiter.tryAcquire(policy, request.getRemoteAddr());
+            if (retryAfterMillis > 0) {
+                log.debug("요청 제한 - policy: {}, uri: {}", policy, request.getRequestURI());
+                reject(response, retryAfterMillis);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static RateLimiter.Policy policyOf(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.endsWith("/callback")) {
+            return RateLimiter.Policy.CALLBACK_IP;
+        }
+        // 로그인 시작마다 state 가 하나씩 저장되므로, 한 클라이언트가 state 저장소 한도를 다 채우지 못하게 한다
+        if ("GET".equals(request.getMethod()) && OAUTH_START_PATHS.contains(path)) {
+            return RateLimiter.Policy.OAUTH_START_IP;
+        }
+        // /sms/request, /sms/verify
+        if ("POST".equals(request.getMethod()) && path.startsWith(AUTH_PREFIX + "sms")) {
+            return RateLimiter.Policy.SMS_IP;
+        }
+        // 배치 하나가 서명 검증 수백 번이므로 요청 수로 따로 제한한다
+        if ("POST".equals(request.getMethod()) && path.equals(AUTH_PREFIX + "verify/batch")) {
+            return RateLimiter.Policy.VERIFY_BATCH_IP;
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(retryAfterMillis)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+}
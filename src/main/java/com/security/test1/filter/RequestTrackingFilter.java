@@ -0,0 +1,92 @@
+package com.security.test1.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청마다 MDC 에 requestId 를 넣고 처리 중인 요청 수를 센다.
+ * 비동기(Mono) 요청은 응답이 끝날 때까지 처리 중으로 본다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTrackingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RequestTrackingFilter(MeterRegistry meterRegistry) {
+        Gauge.builder("http.server.requests.inflight", inFlight, AtomicInteger::get)
+                .description("처리 중인 HTTP 요청 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // 비동기 디스패치 스레드에도 같은 requestId 를 MDC 에 넣어야 한다
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean initial = !isAsyncDispatch(request);
+        String requestId = (String) request.getAttribute(REQUEST_ID);
+        if (requestId == null) {
+            requestId = UUID.randomUUID().toString();
+            request.setAttribute(REQUEST_ID, requestId);
+        }
+
+        MDC.put(REQUEST_ID, requestId);
+        if (initial) {
+            inFlight.incrementAndGet();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            if (initial) {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new CompletionListener());
+                } else {
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
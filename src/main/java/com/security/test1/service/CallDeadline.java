@@ -0,0 +1,53 @@
+package com.security.test1.service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 콜백 하나(토큰 교환 + 사용자 정보 조회)에 주어진 시간 예산.
+ * 실행 중인 스레드에 걸어 두면 OAuth HTTP 클라이언트가 남은 시간에 맞춰 요청 취소 시점을 잡는다.
+ */
+public final class CallDeadline {
+
+    private static final ThreadLocal<CallDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private CallDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static CallDeadline after(Duration budget) {
+        return new CallDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static CallDeadline current() {
+        return CURRENT.get();
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * 이 예산을 현재 스레드에 걸어 둔 채로 call 을 실행한다.
+     */
+    public <T> T run(Supplier<T> call) {
+        CallDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            // 가상 스레드에 값이 남지 않도록 원래 상태로 되돌린다
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.security.test1.service;
+
+import com.security.test1.dto.ProviderProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Google 토큰 응답의 id_token 을 로컬에서 검증해 사용자 정보 조회 호출을 생략한다.
+ * 서명 키(JWKS)는 NimbusJwtDecoder 가 캐시하며, 캐시 만료 시나 처음 보는 kid 가 오면 다시 받아온다.
+ * id_token 이 없거나 필요한 클레임이 빠졌으면, 또는 JWKS 를 받아오지 못하면 빈 값을 돌려주어 userinfo 로 대체하게 한다.
+ */
+@Slf4j
+@Component
+public class GoogleIdTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+
+    private final boolean enabled;
+    private final NimbusJwtDecoder decoder;
+
+    public GoogleIdTokenVerifier(@Value("${app.oauth.google.id-token.enabled:true}") boolean enabled,
+                                 @Value("${spring.security.oauth2.client.provider.google.jwk-set-uri:https://www.googleapis.com/oauth2/v3/certs}") String jwkSetUri,
+                                 @Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId,
+                                 @Qualifier("oauthRestTemplate") RestTemplate restTemplate) {
+        this.enabled = enabled;
+        this.decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .restOperations(restTemplate)
+                .build();
+        this.decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(),
+                new JwtClaimValidator<Object>(JwtClaimNames.ISS, iss -> iss != null && ISSUERS.contains(iss.toString())),
+                new JwtClaimValidator<List<String>>(JwtClaimNames.AUD, aud -> aud != null && aud.contains(clientId))));
+
+        log.info("Google id_token 로컬 검증 {} - jwks: {}", enabled ? "사용" : "사용 안 함", jwkSetUri);
+    }
+
+    /**
+     * 검증된 id_token 의 프로필. 서명/발급자/대상/만료 또는 nonce 검증에 실패하면 BadJwtException 을 던진다.
+     * expectedNonce 가 null 이면 nonce 는 확인하지 않는다.
+     */
+    public Optional<ProviderProfile> verify(String idToken, String expectedNonce) {
+        if (!enabled || idToken == null || idToken.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Jwt jwt;
+        try {
+            jwt = decoder.decode(idToken);
+        } catch (BadJwtException e) {
+            throw e;
+        } catch (JwtException e) {
+            // JWKS 조회 실패 등 토큰 자체와 무관한 오류
+            log.warn("Google id_token 검증 불가, userinfo 로 대체 - {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (expectedNonce != null && !expectedNonce.equals(jwt.getClaimAsString("nonce"))) {
+            throw new BadJwtException("Google id_token nonce 불일치");
+        }
+
+        String email = jwt.getClaimAsString("email");
+        String name = jwt.getClaimAsString("name");
+        if (email == null || name == null) {
+            log.info("Google id_token 에 email/name 클레임이 없어 userinfo 로 대체");
+            return Optional.empty();
+        }
+        return Optional.of(new ProviderProfile(jwt.getSubject(), email, name, jwt.getClaimAsString("picture")));
+    }
+}
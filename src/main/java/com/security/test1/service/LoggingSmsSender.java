@@ -0,0 +1,26 @@
+package com.security.test1.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * 로컬/테스트용 스텁. 문자를 보내지 않고 코드를 로그로만 남긴다. app.sms.sender=logging 일 때만 쓰인다 (SmsConfig).
+ */
+@Slf4j
+public class LoggingSmsSender implements SmsSender {
+
+    public LoggingSmsSender() {
+        log.warn("SMS 발송 스텁을 사용합니다 - 인증 코드는 문자로 보내지지 않고 로그에만 남습니다");
+    }
+
+    @Override
+    public void sendCode(String phone, String code, Duration ttl) {
+        log.info("SMS 인증 코드 (스텁) - phone: {}, code={}, ttl: {}s", mask(phone), code, ttl.toSeconds());
+    }
+
+    // 뒤 4자리만 남긴다
+    private static String mask(String phone) {
+        return phone.length() <= 4 ? "****" : "*".repeat(phone.length() - 4) + phone.substring(phone.length() - 4);
+    }
+}
@@ -0,0 +1,111 @@
+package com.security.test1.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 로그인 파이프라인 단계별 소요 시간 (auth.login{provider, phase, outcome}).
+ * 타이머는 제공자 × 단계 × 결과 조합마다 기동 시 한 번 등록해 배열에 들고 있으므로,
+ * 기록할 때 태그 조회나 meter 등록이 일어나지 않는다.
+ */
+@Component
+public class LoginMetrics {
+
+    public enum Phase {
+        TOKEN_EXCHANGE("token_exchange", true),
+        ID_TOKEN("id_token", true),
+        USER_INFO("user_info", true),
+        // 서비스의 process*Callback 전체 (재시도 포함)
+        CALLBACK("callback", true),
+        // 액세스/리프레시 토큰 발급
+        ISSUE("issue", false),
+        // 컨트롤러가 요청을 받은 뒤 응답을 만들 때까지
+        LOGIN("login", false);
+
+        private final String tag;
+        private final boolean oauthOnly;
+
+        Phase(String tag, boolean oauthOnly) {
+            this.tag = tag;
+            this.oauthOnly = oauthOnly;
+        }
+    }
+
+    private static final OAuthProvider[] PROVIDERS = OAuthProvider.values();
+    private static final int SMS = PROVIDERS.length;
+
+    // [제공자 (마지막 칸은 sms)][단계][0: failure, 1: success]
+    private final Timer[][][] timers = new Timer[PROVIDERS.length + 1][Phase.values().length][2];
+
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        for (int source = 0; source <= SMS; source++) {
+            String provider = source == SMS ? "sms" : PROVIDERS[source].name().toLowerCase(Locale.ROOT);
+            for (Phase phase : Phase.values()) {
+                if (source == SMS && phase.oauthOnly) {
+                    continue;
+                }
+                timers[source][phase.ordinal()][0] = register(meterRegistry, provider, phase, "failure");
+                timers[source][phase.ordinal()][1] = register(meterRegistry, provider, phase, "success");
+            }
+        }
+    }
+
+    public void record(OAuthProvider provider, Phase phase, long startNanos, boolean success) {
+        record(provider.ordinal(), phase, startNanos, success);
+    }
+
+    public void recordSms(Phase phase, long startNanos, boolean success) {
+        record(SMS, phase, startNanos, success);
+    }
+
+    public <T> T time(OAuthProvider provider, Phase phase, Supplier<T> call) {
+        return time(provider.ordinal(), phase, call);
+    }
+
+    public <T> T timeSms(Phase phase, Supplier<T> call) {
+        return time(SMS, phase, call);
+    }
+
+    /**
+     * 구독 시점부터 완료(값 또는 빈 값)/오류까지를 잰다. 취소된 구독은 기록하지 않는다.
+     */
+    public <T> Mono<T> time(OAuthProvider provider, Phase phase, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> record(provider, phase, start, true))
+                    .doOnError(e -> record(provider, phase, start, false));
+        });
+    }
+
+    private <T> T time(int source, Phase phase, Supplier<T> call) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.get();
+            success = true;
+            return result;
+        } finally {
+            record(source, phase, start, success);
+        }
+    }
+
+    private void record(int source, Phase phase, long startNanos, boolean success) {
+        timers[source][phase.ordinal()][success ? 1 : 0].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer register(MeterRegistry meterRegistry, String provider, Phase phase, String outcome) {
+        return Timer.builder("auth.login")
+                .description("로그인 단계별 소요 시간")
+                .tag("provider", provider)
+                .tag("phase", phase.tag)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.security.test1.service;
+
+import com.security.test1.util.JsonFieldExtractor;
+import lombok.Getter;
+
+@Getter
+public enum OAuthProvider {
+
+    GOOGLE("Google", "sub",
+            new JsonFieldExtractor("id", "email", "name", "picture")),
+    KAKAO("Kakao", "id",
+            new JsonFieldExtractor("id", "kakao_account.email", "kakao_account.profile.nickname",
+                    "kakao_account.profile.profile_image_url")),
+    NAVER("Naver", "id",
+            new JsonFieldExtractor("response.id", "response.email", "response.name", "response.profile_image"));
+
+    private final String displayName;
+    private final String nameAttributeKey;
+    // id, email, name, picture 순서
+    private final JsonFieldExtractor profileExtractor;
+
+    OAuthProvider(String displayName, String nameAttributeKey, JsonFieldExtractor profileExtractor) {
+        this.displayName = displayName;
+        this.nameAttributeKey = nameAttributeKey;
+        this.profileExtractor = profileExtractor;
+    }
+}
@@ -1,263 +1,176 @@
 package com.security.test1.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.security.test1.config.OAuthProviderSettings;
 import com.security.test1.dto.OAuthAttributes;
+import com.security.test1.dto.ProviderProfile;
+import com.security.test1.dto.ProviderToken;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Slf4j
 @Service
 public class OAuthService {
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-
-    @Value("${spring.security.oauth2.client.registration.google.client-id}")
-    private String googleClientId;
-
-    @Value("${spring.security.oauth2.client.registration.google.client-secret}")
-    private String googleClientSecret;
-
-    @Value("${spring.security.oauth2.client.registration.kakao.client-id}")
-    private String kakaoClientId;
-
-    @Value("${spring.security.oauth2.client.registration.kakao.client-secret}")
-    private String kakaoClientSecret;
-
-    @Value("${spring.security.oauth2.client.registration.naver.client-id}")
-    private String naverClientId;
-
-    @Value("${spring.security.oauth2.client.registration.naver.client-secret}")
-    private String naverClientSecret;
-
-    public OAuthService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    private final ProviderResponseParser responseParser;
+    private final OAuthProviderSettings settings;
+    private final ProviderGuard providerGuard;
+    private final ProviderCallExecutor callExecutor;
+    private final GoogleIdTokenVerifier idTokenVerifier;
+    private final LoginMetrics loginMetrics;
+
+    public OAuthService(@Qualifier("oauthRestTemplate") RestTemplate restTemplate,
+                        ProviderResponseParser responseParser,
+                        OAuthProviderSettings settings,
+                        ProviderGuard providerGuard,
+                        ProviderCallExecutor callExecutor,
+                        GoogleIdTokenVerifier idTokenVerifier,
+                        LoginMetrics loginMetrics) {
+        this.restTemplate = restTemplate;
+        this.responseParser = responseParser;
+        this.settings = settings;
+        this.providerGuard = providerGuard;
+        this.callExecutor = callExecutor;
+        this.idTokenVerifier = idTokenVerifier;
+        this.loginMetrics = loginMetrics;
     }
 
-    public OAuthAttributes processGoogleCallback(String code) {
+    public OAuthAttributes processGoogleCallback(String code, String nonce) {
+        long start = System.nanoTime();
         try {
-            log.info("Google OAuth 처리 시작 - code: {}", code);
+            log.debug("Google OAuth 처리 시작");
 
-            String accessToken = getGoogleAccessToken(code);
-            log.info("Google Access Token 획득 성공");
+            CallDeadline deadline = callExecutor.newDeadline();
+            OAuthAttributes attributes = providerGuard.execute(OAuthProvider.GOOGLE, () -> {
+                ProviderToken token = getGoogleToken(code, deadline);
+                log.debug("Google Access Token 획득 성공");
 
-            Map<String, Object> userInfo = getGoogleUserInfo(accessToken);
-            log.info("Google 사용자 정보 조회 성공: {}", userInfo);
+                // id_token 에 필요한 클레임이 모두 있으면 userinfo 호출을 생략한다
+                ProviderProfile userInfo = deadline.run(() -> loginMetrics.time(OAuthProvider.GOOGLE, LoginMetrics.Phase.ID_TOKEN,
+                                () -> idTokenVerifier.verify(token.idToken(), nonce)))
+                        .orElseGet(() -> getGoogleUserInfo(token.accessToken(), deadline));
+                log.debug("Google 사용자 정보 조회 성공 - id: {}", userInfo.id());
 
-            return createGoogleOAuthAttributes(userInfo);
+                return OAuthAttributes.of(userInfo, OAuthProvider.GOOGLE.getNameAttributeKey());
+            });
+            loginMetrics.record(OAuthProvider.GOOGLE, LoginMetrics.Phase.CALLBACK, start, true);
+            return attributes;
 
         } catch (Exception e) {
+            loginMetrics.record(OAuthProvider.GOOGLE, LoginMetrics.Phase.CALLBACK, start, false);
             log.error("Google OAuth 처리 중 오류 발생", e);
             throw new RuntimeException("Google OAuth 처리 실패: " + e.getMessage(), e);
         }
     }
 
     public OAuthAttributes processKakaoCallback(String code) {
+        long start = System.nanoTime();
         try {
-            log.info("Kakao OAuth 처리 시작 - code: {}", code);
+            log.debug("Kakao OAuth 처리 시작");
 
-            String accessToken = getKakaoAccessToken(code);
-            log.info("Kakao Access Token 획득 성공");
+            CallDeadline deadline = callExecutor.newDeadline();
+            OAuthAttributes attributes = providerGuard.execute(OAuthProvider.KAKAO, () -> {
+                String accessToken = getKakaoAccessToken(code, deadline);
+                log.debug("Kakao Access Token 획득 성공");
 
-            Map<String, Object> userInfo = getKakaoUserInfo(accessToken);
-            log.info("Kakao 사용자 정보 조회 성공: {}", userInfo);
+                ProviderProfile userInfo = getKakaoUserInfo(accessToken, deadline);
+                log.debug("Kakao 사용자 정보 조회 성공 - id: {}", userInfo.id());
 
-            return createKakaoOAuthAttributes(userInfo);
+                return OAuthAttributes.of(userInfo, OAuthProvider.KAKAO.getNameAttributeKey());
+            });
+            loginMetrics.record(OAuthProvider.KAKAO, LoginMetrics.Phase.CALLBACK, start, true);
+            return attributes;
 
         } catch (Exception e) {
+            loginMetrics.record(OAuthProvider.KAKAO, LoginMetrics.Phase.CALLBACK, start, false);
             log.error("Kakao OAuth 처리 중 오류 발생", e);
             throw new RuntimeException("Kakao OAuth 처리 실패: " + e.getMessage(), e);
         }
     }
 
     public OAuthAttributes processNaverCallback(String code, String state) {
+        long start = System.nanoTime();
         try {
-            log.info("Naver OAuth 처리 시작 - code: {}, state: {}", code, state);
+            log.debug("Naver OAuth 처리 시작");
 
-            String accessToken = getNaverAccessToken(code, state);
-            log.info("Naver Access Token 획득 성공");
+            CallDeadline deadline = callExecutor.newDeadline();
+            OAuthAttributes attributes = providerGuard.execute(OAuthProvider.NAVER, () -> {
+                String accessToken = getNaverAccessToken(code, state, deadline);
+                log.debug("Naver Access Token 획득 성공");
 
-            Map<String, Object> userInfo = getNaverUserInfo(accessToken);
-            log.info("Naver 사용자 정보 조회 성공: {}", userInfo);
+                ProviderProfile userInfo = getNaverUserInfo(accessToken, deadline);
+                log.debug("Naver 사용자 정보 조회 성공 - id: {}", userInfo.id());
 
-            return createNaverOAuthAttributes(userInfo);
+                return OAuthAttributes.of(userInfo, OAuthProvider.NAVER.getNameAttributeKey());
+            });
+            loginMetrics.record(OAuthProvider.NAVER, LoginMetrics.Phase.CALLBACK, start, true);
+            return attributes;
 
         } catch (Exception e) {
+            loginMetrics.record(OAuthProvider.NAVER, LoginMetrics.Phase.CALLBACK, start, false);
             log.error("Naver OAuth 처리 중 오류 발생", e);
             throw new RuntimeException("Naver OAuth 처리 실패: " + e.getMessage(), e);
         }
     }
 
 
-    private String getGoogleAccessToken(String code) throws Exception {
-        String tokenUrl = "https://oauth2.googleapis.com/token";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("client_id", googleClientId);
-        params.add("client_secret", googleClientSecret);
-        params.add("code", code);
-        params.add("grant_type", "authorization_code");
-        params.add("redirect_uri", "http://localhost:8080/api/auth/google/callback");
-
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-        ResponseEntity<String> response = restTemplate.postForEntity(tokenUrl, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Google 토큰 요청 실패: " + response.getStatusCode());
-        }
-
-        JsonNode jsonNode = objectMapper.readTree(response.getBody());
-        return jsonNode.get("access_token").asText();
+    private ProviderToken getGoogleToken(String code, CallDeadline deadline) {
+        return requestToken(OAuthProvider.GOOGLE, settings.getGoogleTokenUri(), settings.googleTokenForm(code), deadline);
     }
 
-    private Map<String, Object> getGoogleUserInfo(String accessToken) throws Exception {
-        String userInfoUrl = "https://www.googleapis.com/oauth2/v2/userinfo";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(accessToken);
-
-        HttpEntity<?> request = new HttpEntity<>(headers);
-        ResponseEntity<String> response = restTemplate.exchange(userInfoUrl, HttpMethod.GET, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Google 사용자 정보 조회 실패: " + response.getStatusCode());
-        }
-
-        return objectMapper.readValue(response.getBody(), Map.class);
+    private ProviderProfile getGoogleUserInfo(String accessToken, CallDeadline deadline) {
+        return requestUserInfo(OAuthProvider.GOOGLE, settings.getGoogleUserInfoUri(), accessToken, deadline);
     }
 
-    private OAuthAttributes createGoogleOAuthAttributes(Map<String, Object> userInfo) {
-        return new OAuthAttributes(
-                userInfo,
-                "sub",
-                (String) userInfo.get("name"),
-                (String) userInfo.get("email"),
-                (String) userInfo.get("picture")
-        );
+    private String getKakaoAccessToken(String code, CallDeadline deadline) {
+        return requestToken(OAuthProvider.KAKAO, settings.getKakaoTokenUri(), settings.kakaoTokenForm(code), deadline)
+                .accessToken();
     }
 
-    private String getKakaoAccessToken(String code) throws Exception {
-        String tokenUrl = "https://kauth.kakao.com/oauth/token";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("client_id", kakaoClientId);
-        params.add("client_secret", kakaoClientSecret);
-        params.add("code", code);
-        params.add("grant_type", "authorization_code");
-        params.add("redirect_uri", "http://localhost:8080/api/auth/kakao/callback"); // 수정된 리디렉션 URI
-
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-
-        log.info("카카오 토큰 요청 파라미터: {}", params);
-        ResponseEntity<String> response = restTemplate.postForEntity(tokenUrl, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            log.error("카카오 토큰 요청 실패 - Status: {}, Body: {}", response.getStatusCode(), response.getBody());
-            throw new RuntimeException("Kakao 토큰 요청 실패: " + response.getStatusCode());
-        }
-
-        JsonNode jsonNode = objectMapper.readTree(response.getBody());
-        String accessToken = jsonNode.get("access_token").asText();
-        log.info("카카오 액세스 토큰 획득 성공");
-        return accessToken;
+    private ProviderProfile getKakaoUserInfo(String accessToken, CallDeadline deadline) {
+        return requestUserInfo(OAuthProvider.KAKAO, settings.getKakaoUserInfoUri(), accessToken, deadline);
     }
 
-    private Map<String, Object> getKakaoUserInfo(String accessToken) throws Exception {
-        String userInfoUrl = "https://kapi.kakao.com/v2/user/me";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(accessToken);
-
-        HttpEntity<?> request = new HttpEntity<>(headers);
-        ResponseEntity<String> response = restTemplate.exchange(userInfoUrl, HttpMethod.GET, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Kakao 사용자 정보 조회 실패: " + response.getStatusCode());
-        }
-
-        return objectMapper.readValue(response.getBody(), Map.class);
+    private String getNaverAccessToken(String code, String state, CallDeadline deadline) {
+        return requestToken(OAuthProvider.NAVER, settings.getNaverTokenUri(), settings.naverTokenForm(code, state), deadline)
+                .accessToken();
     }
 
-    @SuppressWarnings("unchecked")
-    private OAuthAttributes createKakaoOAuthAttributes(Map<String, Object> userInfo) {
-        Map<String, Object> kakaoAccount = (Map<String, Object>) userInfo.get("kakao_account");
-        Map<String, Object> profile = (Map<String, Object>) kakaoAccount.get("profile");
-
-        return new OAuthAttributes(
-                userInfo,
-                "id",
-                (String) profile.get("nickname"),
-                (String) kakaoAccount.get("email"),
-                (String) profile.get("profile_image_url")
-        );
+    private ProviderProfile getNaverUserInfo(String accessToken, CallDeadline deadline) {
+        return requestUserInfo(OAuthProvider.NAVER, settings.getNaverUserInfoUri(), accessToken, deadline);
     }
 
-    private String getNaverAccessToken(String code, String state) throws Exception {
-        String tokenUrl = "https://nid.naver.com/oauth2.0/token";
-
+    private ProviderToken requestToken(OAuthProvider provider, String tokenUrl, MultiValueMap<String, String> params,
+                                       CallDeadline deadline) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("client_id", naverClientId);
-        params.add("client_secret", naverClientSecret);
-        params.add("code", code);
-        params.add("state", state);
-        params.add("grant_type", "authorization_code");
-
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-        ResponseEntity<String> response = restTemplate.postForEntity(tokenUrl, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Naver 토큰 요청 실패: " + response.getStatusCode());
-        }
-
-        JsonNode jsonNode = objectMapper.readTree(response.getBody());
-        return jsonNode.get("access_token").asText();
+        return loginMetrics.time(provider, LoginMetrics.Phase.TOKEN_EXCHANGE, () -> callExecutor.exchangeToken(provider, deadline, () ->
+                restTemplate.execute(tokenUrl, HttpMethod.POST, restTemplate.httpEntityCallback(request), response -> {
+                    if (response.getStatusCode() != HttpStatus.OK) {
+                        throw new RuntimeException(provider.getDisplayName() + " 토큰 요청 실패: " + response.getStatusCode());
+                    }
+                    return responseParser.parseToken(provider, response.getBody());
+                })));
     }
 
-    private Map<String, Object> getNaverUserInfo(String accessToken) throws Exception {
-        String userInfoUrl = "https://openapi.naver.com/v1/nid/me";
-
+    private ProviderProfile requestUserInfo(OAuthProvider provider, String userInfoUrl, String accessToken,
+                                            CallDeadline deadline) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
 
         HttpEntity<?> request = new HttpEntity<>(headers);
-        ResponseEntity<String> response = restTemplate.exchange(userInfoUrl, HttpMethod.GET, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Naver 사용자 정보 조회 실패: " + response.getStatusCode());
-        }
-
-        return objectMapper.readValue(response.getBody(), Map.class);
-    }
-
-    @SuppressWarnings("unchecked")
-    private OAuthAttributes createNaverOAuthAttributes(Map<String, Object> userInfo) {
-        Map<String, Object> response = (Map<String, Object>) userInfo.get("response");
-
-        return new OAuthAttributes(
-                userInfo,
-                "id",
-                (String) response.get("name"),
-                (String) response.get("email"),
-                (String) response.get("profile_image")
-        );
+        return loginMetrics.time(provider, LoginMetrics.Phase.USER_INFO, () -> callExecutor.fetchUserInfo(provider, deadline, () ->
+                restTemplate.execute(userInfoUrl, HttpMethod.GET, restTemplate.httpEntityCallback(request), response -> {
+                    if (response.getStatusCode() != HttpStatus.OK) {
+                        throw new RuntimeException(provider.getDisplayName() + " 사용자 정보 조회 실패: " + response.getStatusCode());
+                    }
+                    return responseParser.parseProfile(provider, response.getBody());
+                })));
     }
-}
\ No newline at end of file
+}
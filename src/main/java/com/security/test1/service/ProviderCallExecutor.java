@@ -0,0 +1,377 @@
+package com.security.test1.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 제공자 호출 재시도/헤징.
+ * <ul>
+ *     <li>사용자 정보 조회(GET)는 멱등이므로 일시적 오류(5xx, 429, I/O 오류)에 지터를 준 지수 백오프로 재시도하고,
+ *     최근 p95 응답 시간이 지나도 응답이 없으면 같은 요청을 하나 더 보내 먼저 온 응답을 쓴다.</li>
+ *     <li>토큰 교환(POST)은 인가 코드가 한 번만 쓸 수 있으므로(Google/Kakao/Naver 모두 동일)
+ *     요청이 제공자에 도달하지 않은 연결 실패에만 재시도한다. 헤징하지 않는다.</li>
+ * </ul>
+ * 재시도와 백오프는 콜백의 남은 시간 예산(CallDeadline) 안에서만 한다.
+ */
+@Slf4j
+@Component
+public class ProviderCallExecutor {
+
+    public enum Phase {
+        TOKEN, USER_INFO
+    }
+
+    public record Config(
+            Duration callbackBudget,
+            int maxAttempts,
+            Duration baseBackoff,
+            Duration maxBackoff,
+            boolean hedgeEnabled,
+            int hedgeMinSamples,
+            Duration hedgeMinDelay
+    ) {
+    }
+
+    private static final int LATENCY_WINDOW_SIZE = 128;
+
+    private final Config config;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<OAuthProvider, LatencyWindow> userInfoLatency = new EnumMap<>(OAuthProvider.class);
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ProviderCallExecutor(@Value("${app.oauth.http.total-timeout:10s}") Duration callbackBudget,
+                                @Value("${app.oauth.retry.max-attempts:3}") int maxAttempts,
+                                @Value("${app.oauth.retry.base-backoff:100ms}") Duration baseBackoff,
+                                @Value("${app.oauth.retry.max-backoff:1s}") Duration maxBackoff,
+                                @Value("${app.oauth.hedge.enabled:false}") boolean hedgeEnabled,
+                                @Value("${app.oauth.hedge.min-samples:20}") int hedgeMinSamples,
+                                @Value("${app.oauth.hedge.min-delay:50ms}") Duration hedgeMinDelay,
+                                MeterRegistry meterRegistry) {
+        this(new Config(callbackBudget, maxAttempts, baseBackoff, maxBackoff,
+                hedgeEnabled, hedgeMinSamples, hedgeMinDelay), meterRegistry);
+    }
+
+    public ProviderCallExecutor(Config config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.baseBackoffNanos = config.baseBackoff().toNanos();
+        this.maxBackoffNanos = config.maxBackoff().toNanos();
+        this.meterRegistry = meterRegistry;
+        for (OAuthProvider provider : OAuthProvider.values()) {
+            userInfoLatency.put(provider, new LatencyWindow(LATENCY_WINDOW_SIZE));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    public CallDeadline newDeadline() {
+        return CallDeadline.after(config.callbackBudget());
+    }
+
+    public <T> T exchangeToken(OAuthProvider provider, CallDeadline deadline, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            checkDeadline(provider, deadline);
+            try {
+                return deadline.run(call);
+            } catch (RuntimeException e) {
+                if (!isNotSent(e) || !backoff(provider, Phase.TOKEN, deadline, attempt, e)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public <T> T fetchUserInfo(OAuthProvider provider, CallDeadline deadline, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            checkDeadline(provider, deadline);
+            try {
+                return hedged(provider, deadline, call);
+            } catch (RuntimeException e) {
+                if (!isTransient(e) || !backoff(provider, Phase.USER_INFO, deadline, attempt, e)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * WebClient 체인용 재시도 정책. 전체 예산은 체인 끝의 timeout 이 지킨다.
+     */
+    public Retry retrySpec(OAuthProvider provider, Phase phase) {
+        return Retry.backoff(Math.max(0, config.maxAttempts() - 1), config.baseBackoff())
+                .maxBackoff(config.maxBackoff())
+                .jitter(0.5)
+                .filter(phase == Phase.TOKEN ? ProviderCallExecutor::isNotSent : ProviderCallExecutor::isTransient)
+                .doBeforeRetry(signal -> countRetry(provider, phase, signal.totalRetries() + 2, signal.failure()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * WebClient 로 보내는 사용자 정보 조회에 헤징과 응답 시간 기록을 붙인다.
+     */
+    public <T> Mono<T> hedge(OAuthProvider provider, Mono<T> call) {
+        return Mono.defer(() -> {
+            LatencyWindow latency = userInfoLatency.get(provider);
+            Mono<T> timed = Mono.defer(() -> {
+                long start = System.nanoTime();
+                return call.doOnNext(result -> latency.record(System.nanoTime() - start));
+            });
+
+            long hedgeDelay = hedgeDelayNanos(provider);
+            if (hedgeDelay < 0) {
+                return timed;
+            }
+            // 주 요청이 먼저 끝나면 지연 중에 취소되어 실제로 보내지지 않는다
+            Mono<T> backup = timed
+                    .doOnSubscribe(subscription -> countHedge(provider))
+                    .delaySubscription(Duration.ofNanos(hedgeDelay));
+            return Mono.firstWithValue(timed, backup)
+                    .onErrorMap(NoSuchElementException.class, ProviderCallExecutor::firstFailure);
+        });
+    }
+
+    private <T> T hedged(OAuthProvider provider, CallDeadline deadline, Supplier<T> call) {
+        long hedgeDelay = hedgeDelayNanos(provider);
+        if (hedgeDelay < 0 || hedgeDelay >= deadline.remainingNanos()) {
+            return timed(provider, deadline, call);
+        }
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        List<Future<T>> attempts = new ArrayList<>(2);
+        try {
+            attempts.add(completion.submit(attempt(provider, deadline, call, mdc)));
+            Future<T> done = completion.poll(hedgeDelay, TimeUnit.NANOSECONDS);
+            if (done == null) {
+                countHedge(provider);
+                attempts.add(completion.submit(attempt(provider, deadline, call, mdc)));
+            }
+
+            int outstanding = attempts.size();
+            while (true) {
+                if (done == null) {
+                    done = completion.poll(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        throw deadlineExceeded(provider);
+                    }
+                }
+                outstanding--;
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    if (outstanding == 0) {
+                        throw e.getCause() instanceof RuntimeException runtime ? runtime
+                                : new IllegalStateException(e.getCause());
+                    }
+                }
+                done = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException(provider.getDisplayName() + " 사용자 정보 조회 중단");
+        } finally {
+            // 늦게 끝난 쪽은 기다리지 않는다 (남은 요청은 HTTP 클라이언트의 취소 시점에 정리된다)
+            attempts.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Callable<T> attempt(OAuthProvider provider, CallDeadline deadline, Supplier<T> call,
+                                    Map<String, String> mdc) {
+        return () -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return timed(provider, deadline, call);
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+
+    private <T> T timed(OAuthProvider provider, CallDeadline deadline, Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = deadline.run(call);
+        userInfoLatency.get(provider).record(System.nanoTime() - start);
+        return result;
+    }
+
+    // 헤징하지 않으면 -1
+    private long hedgeDelayNanos(OAuthProvider provider) {
+        if (!config.hedgeEnabled()) {
+            return -1;
+        }
+        long p95 = userInfoLatency.get(provider).p95(config.hedgeMinSamples());
+        return p95 < 0 ? -1 : Math.max(p95, config.hedgeMinDelay().toNanos());
+    }
+
+    private boolean backoff(OAuthProvider provider, Phase phase, CallDeadline deadline, int attempt, Throwable failure) {
+        if (attempt >= config.maxAttempts()) {
+            return false;
+        }
+
+        // full jitter: 0 ~ min(maxBackoff, base * 2^(attempt-1))
+        long ceiling = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt - 1, 20));
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (sleepNanos >= deadline.remainingNanos()) {
+            return false;
+        }
+
+        countRetry(provider, phase, attempt + 1, failure);
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void checkDeadline(OAuthProvider provider, CallDeadline deadline) {
+        if (deadline.isExpired()) {
+            throw deadlineExceeded(provider);
+        }
+    }
+
+    private void countRetry(OAuthProvider provider, Phase phase, long attempt, Throwable failure) {
+        log.warn("{} {} 재시도 {}회차 - 원인: {}", provider.getDisplayName(), phase, attempt, failure.toString());
+        meterRegistry.counter("oauth.provider.retries",
+                "provider", provider.getDisplayName().toLowerCase(), "phase", phase.name().toLowerCase()).increment();
+    }
+
+    private void countHedge(OAuthProvider provider) {
+        meterRegistry.counter("oauth.provider.hedges", "provider", provider.getDisplayName().toLowerCase()).increment();
+    }
+
+    private static ResourceAccessException deadlineExceeded(OAuthProvider provider) {
+        return new ResourceAccessException(provider.getDisplayName() + " 응답 대기 시간 초과");
+    }
+
+    /**
+     * 요청이 제공자에 도달하지 않은 실패(연결 거부, 연결 타임아웃, DNS 실패)인지.
+     */
+    static boolean isNotSent(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 멱등 요청을 다시 보내도 되는 일시적 오류인지.
+     */
+    static boolean isTransient(Throwable e) {
+        if (isNotSent(e)) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException statusException) {
+                return isRetryableStatus(statusException.getStatusCode().value());
+            }
+            if (cause instanceof WebClientResponseException responseException) {
+                return isRetryableStatus(responseException.getStatusCode().value());
+            }
+            if (cause instanceof ResourceAccessException
+                    || cause instanceof WebClientRequestException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRetryableStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    // firstWithValue 는 두 요청이 모두 실패하면 원래 예외들을 묶어서 던진다
+    private static Throwable firstFailure(NoSuchElementException e) {
+        List<Throwable> failures = new ArrayList<>();
+        if (e.getCause() != null) {
+            failures.addAll(Exceptions.unwrapMultiple(e.getCause()));
+        }
+        failures.addAll(Arrays.asList(e.getSuppressed()));
+        return failures.isEmpty() ? e : failures.get(0);
+    }
+
+    /**
+     * 최근 성공한 호출들의 응답 시간. p95 는 일정 건수마다 다시 계산한다.
+     */
+    static final class LatencyWindow {
+
+        private static final int RECOMPUTE_EVERY = 16;
+
+        private final long[] samples;
+        private int next;
+        private int size;
+        private int sinceRecompute;
+        private volatile long p95 = -1;
+        private volatile int p95Size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) {
+                size++;
+            }
+            if (++sinceRecompute >= RECOMPUTE_EVERY || size < RECOMPUTE_EVERY * 2) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                p95 = sorted[(int) Math.ceil(size * 0.95) - 1];
+                p95Size = size;
+            }
+        }
+
+        long p95(int minSamples) {
+            return p95Size >= minSamples ? p95 : -1;
+        }
+    }
+}
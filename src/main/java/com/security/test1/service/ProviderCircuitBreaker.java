@@ -0,0 +1,231 @@
+package com.security.test1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 제공자 하나에 대한 서킷 브레이커 + 동시 호출 제한(bulkhead).
+ * 최근 windowSize 건의 실패율 또는 느린 호출 비율이 임계치를 넘으면 openDuration 동안 호출을 바로 거절하고,
+ * 그 뒤 halfOpenCalls 건의 시험 호출이 모두 성공하면 다시 닫힌다.
+ * 상태가 바뀔 때마다 세대(generation)를 올리고, 호출 결과는 그 호출이 허가받은 세대에서만 센다.
+ * 서킷이 열리기 전에 시작해 half-open 중에 끝난 호출이 시험 호출로 세지지 않게 하기 위해서다.
+ */
+@Slf4j
+public class ProviderCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * acquire 가 돌려주는 호출 허가. 같은 허가를 onResult 또는 onCancel 에 넘긴다.
+     */
+    public record Permit(boolean probe, long generation) {
+    }
+
+    // 상태와 세대, open 시각을 함께 바꾸어 읽는 쪽이 섞인 값을 보지 않게 한다
+    private record Phase(State state, long generation, long openedAt) {
+    }
+
+    public record Config(
+            int windowSize,
+            int minimumCalls,
+            int failureRateThreshold,
+            Duration slowCallThreshold,
+            int slowCallRateThreshold,
+            Duration openDuration,
+            int halfOpenCalls,
+            int maxConcurrentCalls
+    ) {
+    }
+
+    private final String name;
+    private final Config config;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final Semaphore bulkhead;
+
+    // 아래 창(window) 필드는 this 로 보호된다
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failureCount;
+    private int slowCount;
+    private int halfOpenSuccesses;
+
+    private volatile Phase phase = new Phase(State.CLOSED, 0, 0);
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+
+    public ProviderCircuitBreaker(String name, Config config, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.config = config;
+        this.slowCallNanos = config.slowCallThreshold().toNanos();
+        this.openNanos = config.openDuration().toNanos();
+        this.bulkhead = new Semaphore(config.maxConcurrentCalls());
+        this.failures = new boolean[config.windowSize()];
+        this.slowCalls = new boolean[config.windowSize()];
+
+        String provider = name.toLowerCase();
+        Gauge.builder("oauth.provider.circuit.state", this, breaker -> breaker.phase.state().ordinal())
+                .description("0=closed, 1=open, 2=half-open")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("oauth.provider.bulkhead.active", bulkhead,
+                        semaphore -> config.maxConcurrentCalls() - semaphore.availablePermits())
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.successCounter = callCounter(meterRegistry, provider, "success");
+        this.failureCounter = callCounter(meterRegistry, provider, "failure");
+        this.rejectedCounter = callCounter(meterRegistry, provider, "rejected");
+    }
+
+    public State getState() {
+        return phase.state();
+    }
+
+    /**
+     * 호출 전에 부른다. 호출할 수 없으면 ProviderUnavailableException 을 던진다.
+     * 성공하면 돌려받은 허가로 반드시 onResult 또는 onCancel 을 불러 끝내야 한다.
+     */
+    public Permit acquire() {
+        Phase current = phase;
+        if (current.state() == State.OPEN) {
+            current = tryHalfOpen();
+            if (current == null) {
+                throw reject("일시 차단 중 (circuit open)");
+            }
+        }
+
+        boolean probe = current.state() == State.HALF_OPEN;
+        if (probe && halfOpenPermits.getAndDecrement() <= 0) {
+            halfOpenPermits.incrementAndGet();
+            throw reject("복구 확인 중 (half-open)");
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            if (probe) {
+                halfOpenPermits.incrementAndGet();
+            }
+            throw reject("동시 호출 한도 초과");
+        }
+        return new Permit(probe, current.generation());
+    }
+
+    public void onResult(Permit permit, boolean failure, long elapsedNanos) {
+        bulkhead.release();
+        (failure ? failureCounter : successCounter).increment();
+
+        boolean slow = elapsedNanos >= slowCallNanos;
+        synchronized (this) {
+            // 허가받은 뒤 상태가 바뀌었으면 (열리기 전에 시작한 호출이 늦게 끝난 경우 등) 세지 않는다
+            if (permit.generation() != phase.generation()) {
+                return;
+            }
+            if (permit.probe()) {
+                if (failure || slow) {
+                    open("시험 호출 실패");
+                } else if (++halfOpenSuccesses >= config.halfOpenCalls()) {
+                    close();
+                }
+                return;
+            }
+
+            record(failure, slow);
+            if (recorded >= config.minimumCalls()) {
+                int failureRate = failureCount * 100 / recorded;
+                int slowRate = slowCount * 100 / recorded;
+                if (failureRate >= config.failureRateThreshold()) {
+                    open("실패율 " + failureRate + "%");
+                } else if (slowRate >= config.slowCallRateThreshold()) {
+                    open("느린 호출 비율 " + slowRate + "%");
+                }
+            }
+        }
+    }
+
+    public void onCancel(Permit permit) {
+        bulkhead.release();
+        if (!permit.probe()) {
+            return;
+        }
+        // 지금 half-open 세대에서 받은 시험 호출 허가만 돌려준다
+        synchronized (this) {
+            if (permit.generation() == phase.generation()) {
+                halfOpenPermits.incrementAndGet();
+            }
+        }
+    }
+
+    // 아직 열려 있어야 하면 null
+    private synchronized Phase tryHalfOpen() {
+        Phase current = phase;
+        if (current.state() != State.OPEN) {
+            return current;
+        }
+        if (System.nanoTime() - current.openedAt() < openNanos) {
+            return null;
+        }
+
+        halfOpenSuccesses = 0;
+        halfOpenPermits.set(config.halfOpenCalls());
+        phase = new Phase(State.HALF_OPEN, current.generation() + 1, 0);
+        log.info("{} 제공자 서킷 half-open - 시험 호출 {}건 허용", name, config.halfOpenCalls());
+        return phase;
+    }
+
+    private void record(boolean failure, boolean slow) {
+        if (recorded == failures.length) {
+            failureCount -= failures[next] ? 1 : 0;
+            slowCount -= slowCalls[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        slowCalls[next] = slow;
+        failureCount += failure ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        next = (next + 1) % failures.length;
+    }
+
+    private void open(String reason) {
+        resetWindow();
+        phase = new Phase(State.OPEN, phase.generation() + 1, System.nanoTime());
+        log.warn("{} 제공자 서킷 open - {}, {}초 동안 호출 차단", name, reason, config.openDuration().toSeconds());
+    }
+
+    private void close() {
+        resetWindow();
+        phase = new Phase(State.CLOSED, phase.generation() + 1, 0);
+        log.info("{} 제공자 서킷 closed", name);
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failureCount = 0;
+        slowCount = 0;
+    }
+
+    private ProviderUnavailableException reject(String reason) {
+        rejectedCounter.increment();
+        return new ProviderUnavailableException(name + " 제공자 " + reason);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String provider, String outcome) {
+        return Counter.builder("oauth.provider.calls")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.security.test1.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 제공자별 서킷 브레이커. 한 제공자가 느려지거나 실패해도 다른 제공자 로그인에 쓸 스레드를 잡아먹지 않도록 한다.
+ * 4xx 응답(잘못된 code 등 사용자 쪽 오류)과 id_token 로컬 검증 실패(서명/만료/nonce 불일치 등 토큰 자체의 문제)는
+ * 제공자 장애로 세지 않는다. 위조 토큰을 반복해 보내 서킷을 여는 일이 없도록 하기 위해서다.
+ */
+@Component
+public class ProviderGuard {
+
+    private final Map<OAuthProvider, ProviderCircuitBreaker> breakers = new EnumMap<>(OAuthProvider.class);
+
+    @Autowired
+    public ProviderGuard(@Value("${app.oauth.circuit-breaker.window-size:20}") int windowSize,
+                         @Value("${app.oauth.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                         @Value("${app.oauth.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                         @Value("${app.oauth.circuit-breaker.slow-call-threshold:3s}") Duration slowCallThreshold,
+                         @Value("${app.oauth.circuit-breaker.slow-call-rate-threshold:80}") int slowCallRateThreshold,
+                         @Value("${app.oauth.circuit-breaker.open-duration:10s}") Duration openDuration,
+                         @Value("${app.oauth.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                         @Value("${app.oauth.circuit-breaker.max-concurrent-calls:50}") int maxConcurrentCalls,
+                         MeterRegistry meterRegistry) {
+        this(new ProviderCircuitBreaker.Config(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold,
+                slowCallRateThreshold, openDuration, halfOpenCalls, maxConcurrentCalls), meterRegistry);
+    }
+
+    public ProviderGuard(ProviderCircuitBreaker.Config config, MeterRegistry meterRegistry) {
+        for (OAuthProvider provider : OAuthProvider.values()) {
+            breakers.put(provider, new ProviderCircuitBreaker(provider.getDisplayName(), config, meterRegistry));
+        }
+    }
+
+    public ProviderCircuitBreaker.State state(OAuthProvider provider) {
+        return breakers.get(provider).getState();
+    }
+
+    public <T> T execute(OAuthProvider provider, Callable<T> call) throws Exception {
+        ProviderCircuitBreaker breaker = breakers.get(provider);
+        ProviderCircuitBreaker.Permit permit = breaker.acquire();
+
+        long start = System.nanoTime();
+        boolean recorded = false;
+        try {
+            T result = call.call();
+            recorded = true;
+            breaker.onResult(permit, false, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            recorded = true;
+            breaker.onResult(permit, isProviderFault(e), System.nanoTime() - start);
+            throw e;
+        } finally {
+            if (!recorded) {
+                breaker.onCancel(permit);
+            }
+        }
+    }
+
+    public <T> Mono<T> guard(OAuthProvider provider, Mono<T> call) {
+        ProviderCircuitBreaker breaker = breakers.get(provider);
+        return Mono.defer(() -> {
+            ProviderCircuitBreaker.Permit permit = breaker.acquire();
+
+            long start = System.nanoTime();
+            AtomicBoolean done = new AtomicBoolean();
+            return call
+                    .doOnSuccess(result -> {
+                        if (done.compareAndSet(false, true)) {
+                            breaker.onResult(permit, false, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (done.compareAndSet(false, true)) {
+                            breaker.onResult(permit, isProviderFault(e), System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            breaker.onCancel(permit);
+                        }
+                    });
+        });
+    }
+
+    static boolean isProviderFault(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException statusException) {
+                return !statusException.getStatusCode().is4xxClientError();
+            }
+            if (cause instanceof WebClientResponseException responseException) {
+                return !responseException.getStatusCode().is4xxClientError();
+            }
+            // JwtValidationException 도 여기에 포함된다. JWKS 조회 실패는 GoogleIdTokenVerifier 가 userinfo 로 대체한다
+            if (cause instanceof BadJwtException) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
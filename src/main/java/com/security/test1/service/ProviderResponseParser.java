@@ -0,0 +1,46 @@
+package com.security.test1.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.security.test1.dto.ProviderProfile;
+import com.security.test1.dto.ProviderToken;
+import com.security.test1.util.JsonFieldExtractor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 제공자 토큰/사용자 정보 응답을 응답 스트림에서 바로 읽어 필요한 필드만 담은 레코드로 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderResponseParser {
+
+    private static final JsonFieldExtractor TOKEN = new JsonFieldExtractor("access_token", "expires_in", "id_token");
+
+    private final ObjectMapper objectMapper;
+
+    public ProviderToken parseToken(OAuthProvider provider, InputStream body) {
+        String[] values = extract(provider, TOKEN, body);
+        if (values[0] == null) {
+            throw new IllegalStateException(provider.getDisplayName() + " 토큰 응답에 access_token이 없습니다");
+        }
+        return new ProviderToken(values[0], values[1] != null ? Long.valueOf(values[1]) : null, values[2]);
+    }
+
+    public ProviderProfile parseProfile(OAuthProvider provider, InputStream body) {
+        String[] values = extract(provider, provider.getProfileExtractor(), body);
+        return new ProviderProfile(values[0], values[1], values[2], values[3]);
+    }
+
+    private String[] extract(OAuthProvider provider, JsonFieldExtractor extractor, InputStream body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return extractor.extract(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(provider.getDisplayName() + " 응답 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.security.test1.service;
+
+// 서킷이 열려 있거나 동시 호출 한도를 넘어 제공자 호출을 시도하지 않고 거절한 경우
+public class ProviderUnavailableException extends RuntimeException {
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,164 @@
+package com.security.test1.service;
+
+import com.security.test1.config.OAuthProviderSettings;
+import com.security.test1.dto.OAuthAttributes;
+import com.security.test1.dto.ProviderProfile;
+import com.security.test1.dto.ProviderToken;
+import com.security.test1.filter.RequestTrackingFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * OAuthService 의 논블로킹 버전. 제공자 응답을 기다리는 동안 요청 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveOAuthService {
+
+    private final WebClient webClient;
+    private final OAuthProviderSettings settings;
+    private final ProviderResponseParser responseParser;
+    private final ProviderGuard providerGuard;
+    private final ProviderCallExecutor callExecutor;
+    private final GoogleIdTokenVerifier idTokenVerifier;
+    private final LoginMetrics loginMetrics;
+
+    @Value("${app.oauth.http.total-timeout:10s}")
+    private Duration totalTimeout;
+
+    public Mono<OAuthAttributes> processGoogleCallback(String code, String nonce) {
+        Mono<OAuthAttributes> callback = exchangeToken(OAuthProvider.GOOGLE, settings.getGoogleTokenUri(), settings.googleTokenForm(code))
+                .flatMap(token -> verifyIdToken(token.idToken(), nonce)
+                        .switchIfEmpty(Mono.defer(() -> fetchUserInfo(OAuthProvider.GOOGLE, settings.getGoogleUserInfoUri(), token.accessToken()))))
+                .map(userInfo -> OAuthAttributes.of(userInfo, OAuthProvider.GOOGLE.getNameAttributeKey()))
+                .timeout(totalTimeout);
+        return finish(OAuthProvider.GOOGLE, callback);
+    }
+
+    public Mono<OAuthAttributes> processKakaoCallback(String code) {
+        Mono<OAuthAttributes> callback = exchangeToken(OAuthProvider.KAKAO, settings.getKakaoTokenUri(), settings.kakaoTokenForm(code))
+                .flatMap(token -> fetchUserInfo(OAuthProvider.KAKAO, settings.getKakaoUserInfoUri(), token.accessToken()))
+                .map(userInfo -> OAuthAttributes.of(userInfo, OAuthProvider.KAKAO.getNameAttributeKey()))
+                .timeout(totalTimeout);
+        return finish(OAuthProvider.KAKAO, callback);
+    }
+
+    public Mono<OAuthAttributes> processNaverCallback(String code, String state) {
+        Mono<OAuthAttributes> callback = exchangeToken(OAuthProvider.NAVER, settings.getNaverTokenUri(), settings.naverTokenForm(code, state))
+                .flatMap(token -> fetchUserInfo(OAuthProvider.NAVER, settings.getNaverUserInfoUri(), token.accessToken()))
+                .map(userInfo -> OAuthAttributes.of(userInfo, OAuthProvider.NAVER.getNameAttributeKey()))
+                .timeout(totalTimeout);
+        return finish(OAuthProvider.NAVER, callback);
+    }
+
+    private Mono<ProviderToken> exchangeToken(OAuthProvider provider, String tokenUri, MultiValueMap<String, String> form) {
+        return webClient.post()
+                .uri(tokenUri)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(form))
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .map(buffer -> {
+                    try (InputStream body = buffer.asInputStream(true)) {
+                        return responseParser.parseToken(provider, body);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .retryWhen(callExecutor.retrySpec(provider, ProviderCallExecutor.Phase.TOKEN))
+                .transform(call -> loginMetrics.time(provider, LoginMetrics.Phase.TOKEN_EXCHANGE, call))
+                .doOnEach(onNext(token -> log.debug("{} Access Token 획득 성공", provider.getDisplayName())));
+    }
+
+    // 검증은 CPU 작업이지만 JWKS 캐시가 비어 있으면 블로킹 조회가 일어나므로 이벤트 루프 밖에서 한다
+    private Mono<ProviderProfile> verifyIdToken(String idToken, String nonce) {
+        if (idToken == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> idTokenVerifier.verify(idToken, nonce).orElse(null))
+                .transform(call -> loginMetrics.time(OAuthProvider.GOOGLE, LoginMetrics.Phase.ID_TOKEN, call))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<ProviderProfile> fetchUserInfo(OAuthProvider provider, String userInfoUri, String accessToken) {
+        Mono<ProviderProfile> request = webClient.get()
+                .uri(userInfoUri)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .map(buffer -> {
+                    try (InputStream body = buffer.asInputStream(true)) {
+                        return responseParser.parseProfile(provider, body);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return callExecutor.hedge(provider, request)
+                .retryWhen(callExecutor.retrySpec(provider, ProviderCallExecutor.Phase.USER_INFO))
+                .transform(call -> loginMetrics.time(provider, LoginMetrics.Phase.USER_INFO, call))
+                .doOnEach(onNext(userInfo -> log.debug("{} 사용자 정보 조회 성공 - id: {}", provider.getDisplayName(), userInfo.id())));
+    }
+
+    // 요청 스레드에서 조립되므로 이때의 requestId 를 구독 컨텍스트에 실어 reactor-netty 스레드의 로그에도 남긴다
+    private Mono<OAuthAttributes> finish(OAuthProvider provider, Mono<OAuthAttributes> callback) {
+        Mono<OAuthAttributes> result = loginMetrics.time(provider, LoginMetrics.Phase.CALLBACK, providerGuard.guard(provider, callback))
+                .doOnEach(signal -> {
+                    if (signal.isOnError()) {
+                        withRequestId(signal.getContextView(),
+                                () -> log.error("{} OAuth 처리 중 오류 발생", provider.getDisplayName(), signal.getThrowable()));
+                    }
+                })
+                .onErrorMap(e -> new RuntimeException(provider.getDisplayName() + " OAuth 처리 실패: " + e.getMessage(), e));
+        String requestId = MDC.get(RequestTrackingFilter.REQUEST_ID);
+        return requestId != null ? result.contextWrite(Context.of(RequestTrackingFilter.REQUEST_ID, requestId)) : result;
+    }
+
+    private static <T> Consumer<Signal<T>> onNext(Consumer<T> logging) {
+        return signal -> {
+            if (signal.isOnNext()) {
+                withRequestId(signal.getContextView(), () -> logging.accept(signal.get()));
+            }
+        };
+    }
+
+    // 로그를 남기는 동안만 MDC 에 넣고, 그 스레드에 있던 값은 되돌린다
+    private static void withRequestId(ContextView context, Runnable logging) {
+        Optional<String> requestId = context.getOrEmpty(RequestTrackingFilter.REQUEST_ID);
+        if (requestId.isEmpty()) {
+            logging.run();
+            return;
+        }
+        String previous = MDC.get(RequestTrackingFilter.REQUEST_ID);
+        MDC.put(RequestTrackingFilter.REQUEST_ID, requestId.get());
+        try {
+            logging.run();
+        } finally {
+            if (previous != null) {
+                MDC.put(RequestTrackingFilter.REQUEST_ID, previous);
+            } else {
+                MDC.remove(RequestTrackingFilter.REQUEST_ID);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.security.test1.service;
+
+import com.security.test1.dto.RefreshTokenRecord;
+import com.security.test1.dto.TokenPair;
+import com.security.test1.store.RefreshTokenStore;
+import com.security.test1.util.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 짧은 액세스 토큰 + 불투명(opaque) 리프레시 토큰 발급.
+ * 리프레시 토큰은 한 번 쓰면 폐기되고 새 토큰으로 교체(rotation)되며, 갱신은 제공자 호출 없이 로컬에서 끝난다.
+ * 이미 교체에 쓰인 토큰이 다시 들어오면 토큰이 유출된 것으로 보고 같은 로그인(가족)의 현재 토큰까지 폐기한다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int FAMILY_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenStore store;
+    private final Duration refreshTtl;
+    private final long accessTokenSeconds;
+    private final Clock clock;
+    private final Counter reuseDetected;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(JwtUtil jwtUtil,
+                               RefreshTokenStore store,
+                               @Value("${jwt.refresh.expiration:14d}") Duration refreshTtl,
+                               @Value("${jwt.expiration}") long accessTokenMillis,
+                               MeterRegistry meterRegistry) {
+        this(jwtUtil, store, refreshTtl, accessTokenMillis, meterRegistry, Clock.systemUTC());
+    }
+
+    RefreshTokenService(JwtUtil jwtUtil, RefreshTokenStore store, Duration refreshTtl, long accessTokenMillis,
+                        MeterRegistry meterRegistry, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.store = store;
+        this.refreshTtl = refreshTtl;
+        this.accessTokenSeconds = accessTokenMillis / 1000;
+        this.clock = clock;
+
+        Gauge.builder("auth.refresh.tokens", store, RefreshTokenStore::size)
+                .description("저장된 리프레시 토큰 수")
+                .register(meterRegistry);
+        this.reuseDetected = Counter.builder("auth.refresh.reuse")
+                .description("이미 교체된 리프레시 토큰이 다시 쓰여 가족을 폐기한 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로그인 성공 시 액세스 토큰과 리프레시 토큰을 함께 발급한다.
+     */
+    public TokenPair issue(String email, String name, String picture) {
+        String accessToken = jwtUtil.generateToken(email, name, picture);
+        String refreshToken = newRefreshToken(new RefreshTokenRecord(email, name, picture,
+                randomToken(FAMILY_BYTES), clock.instant().plus(refreshTtl)));
+        return new TokenPair(accessToken, refreshToken, accessTokenSeconds);
+    }
+
+    /**
+     * 리프레시 토큰을 소비하고 새 토큰 쌍을 발급한다. 없거나 만료됐거나 이미 사용된 토큰이면 빈 값.
+     * 리프레시 토큰 만료 시각은 처음 로그인 기준으로 유지되어 갱신만으로 세션이 무한히 연장되지 않는다.
+     * 이미 사용된 토큰이면 그 가족의 현재 토큰도 폐기하므로, 탈취한 쪽과 원래 사용자 모두 다시 로그인해야 한다.
+     */
+    public Optional<TokenPair> refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        String tokenHash = hash(refreshToken);
+        Optional<RefreshTokenRecord> consumed = store.consume(tokenHash);
+        if (consumed.isEmpty()) {
+            Optional<String> family = store.reusedFamily(tokenHash);
+            if (family.isPresent()) {
+                store.revokeFamily(family.get());
+                reuseDetected.increment();
+                log.warn("리프레시 토큰 재사용 감지 - 같은 로그인에서 발급된 토큰을 모두 폐기");
+            } else {
+                log.warn("리프레시 토큰 갱신 실패 - 없거나 만료된 토큰");
+            }
+            return Optional.empty();
+        }
+
+        RefreshTokenRecord record = consumed.get();
+        String accessToken = jwtUtil.generateToken(record.email(), record.name(), record.picture());
+        String rotated = newRefreshToken(record);
+
+        log.debug("리프레시 토큰 갱신 성공 - email: {}", record.email());
+        return Optional.of(new TokenPair(accessToken, rotated, accessTokenSeconds));
+    }
+
+    private String newRefreshToken(RefreshTokenRecord record) {
+        String token = randomToken(TOKEN_BYTES);
+        store.save(hash(token), record);
+        return token;
+    }
+
+    private String randomToken(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ENCODER.encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.security.test1.service;
+
+import java.time.Duration;
+
+/**
+ * SMS 인증 코드 발송. 실제 발송 업체 연동은 이 인터페이스를 구현한 빈을 등록하면 기본 스텁 대신 쓰인다 (SmsConfig).
+ */
+public interface SmsSender {
+
+    /**
+     * 코드를 보낸다. 보내지 못하면 예외를 던지고, 발급한 코드는 폐기된다.
+     */
+    void sendCode(String phone, String code, Duration ttl);
+}
@@ -0,0 +1,177 @@
+package com.security.test1.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.security.test1.dto.RefreshTokenRecord;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 리프레시 토큰 저장소.
+ * 만료 시각 순으로 정렬된 인덱스를 함께 두어, 저장할 때 만료된 항목을 앞에서부터 정리하고
+ * 한도(maxEntries)를 넘으면 가장 먼저 만료될 항목부터 밀어낸다.
+ * 교체에 쓰인 토큰은 저장소에서 빼고 해시와 가족 ID 만 따로 남긴다. 이 표시는 별도 한도(maxUsedEntries)의
+ * Caffeine 캐시에 가족 만료 시각까지 두므로, 교체가 잦아도 아직 쓸 수 있는 토큰이 밀려나지 않는다.
+ */
+@Slf4j
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Expiry(long expiresAtMillis, String tokenHash) {
+    }
+
+    // 교체에 쓰인 토큰 표시
+    private record UsedToken(String familyId, long expiresAtMillis) {
+    }
+
+    private static final Comparator<Expiry> BY_EXPIRY = Comparator
+            .comparingLong(Expiry::expiresAtMillis)
+            .thenComparing(Expiry::tokenHash);
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, RefreshTokenRecord> records = new ConcurrentHashMap<>();
+    // 가족 ID -> 아직 쓰이지 않은 현재 토큰 해시
+    private final Map<String, String> liveByFamily = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Expiry> expiryIndex = new ConcurrentSkipListSet<>(BY_EXPIRY);
+    private final Cache<String, UsedToken> usedTokens;
+
+    public InMemoryRefreshTokenStore(int maxEntries, int maxUsedEntries) {
+        this(maxEntries, maxUsedEntries, Clock.systemUTC());
+    }
+
+    public InMemoryRefreshTokenStore(int maxEntries, int maxUsedEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        // 정리는 호출한 스레드에서 바로 한다 (공용 ForkJoinPool 을 쓰지 않는다)
+        this.usedTokens = Caffeine.newBuilder()
+                .maximumSize(maxUsedEntries)
+                .expireAfter(new UntilFamilyExpiry())
+                .ticker(() -> clock.millis() * NANOS_PER_MILLI)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Override
+    public void save(String tokenHash, RefreshTokenRecord record) {
+        purgeExpired();
+
+        records.put(tokenHash, record);
+        expiryIndex.add(new Expiry(record.expiresAt().toEpochMilli(), tokenHash));
+        liveByFamily.put(record.familyId(), tokenHash);
+
+        while (records.size() > maxEntries) {
+            Expiry oldest = expiryIndex.pollFirst();
+            if (oldest == null) {
+                break;
+            }
+            if (remove(oldest.tokenHash()) != null) {
+                log.debug("리프레시 토큰 저장소 한도 초과 - 가장 먼저 만료될 토큰 제거");
+            }
+        }
+    }
+
+    @Override
+    public Optional<RefreshTokenRecord> consume(String tokenHash) {
+        RefreshTokenRecord record = records.get(tokenHash);
+        if (record == null || record.isExpired(clock.instant())) {
+            return Optional.empty();
+        }
+        // 표시를 먼저 남겨, 동시에 들어온 같은 토큰 요청도 재사용으로 본다
+        markUsed(tokenHash, record);
+        // 같은 값일 때만 지우므로 동시에 들어온 요청 중 하나만 성공한다
+        if (!records.remove(tokenHash, record)) {
+            return Optional.empty();
+        }
+        expiryIndex.remove(new Expiry(record.expiresAt().toEpochMilli(), tokenHash));
+        liveByFamily.remove(record.familyId(), tokenHash);
+        return Optional.of(record);
+    }
+
+    @Override
+    public Optional<String> reusedFamily(String tokenHash) {
+        UsedToken used = usedTokens.getIfPresent(tokenHash);
+        return used != null ? Optional.of(used.familyId()) : Optional.empty();
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        String live = liveByFamily.remove(familyId);
+        if (live == null) {
+            return;
+        }
+        RefreshTokenRecord revoked = remove(live);
+        if (revoked != null) {
+            expiryIndex.remove(new Expiry(revoked.expiresAt().toEpochMilli(), live));
+            markUsed(live, revoked);
+        }
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * 재사용 감지용으로 남겨 둔 교체된 토큰 수.
+     */
+    public long usedSize() {
+        usedTokens.cleanUp();
+        return usedTokens.estimatedSize();
+    }
+
+    private void markUsed(String tokenHash, RefreshTokenRecord record) {
+        usedTokens.put(tokenHash, new UsedToken(record.familyId(), record.expiresAt().toEpochMilli()));
+    }
+
+    // 인덱스 앞쪽(가장 빨리 만료되는 쪽)만 보므로 만료된 항목 수만큼만 비용이 든다
+    private void purgeExpired() {
+        long now = clock.millis();
+        Expiry first;
+        while ((first = firstOrNull()) != null && first.expiresAtMillis() <= now) {
+            if (expiryIndex.remove(first)) {
+                remove(first.tokenHash());
+            }
+        }
+    }
+
+    private RefreshTokenRecord remove(String tokenHash) {
+        RefreshTokenRecord removed = records.remove(tokenHash);
+        if (removed != null) {
+            liveByFamily.remove(removed.familyId(), tokenHash);
+        }
+        return removed;
+    }
+
+    private Expiry firstOrNull() {
+        return expiryIndex.isEmpty() ? null : expiryIndex.ceiling(new Expiry(Long.MIN_VALUE, ""));
+    }
+
+    // 표시는 그 토큰 가족의 만료 시각까지만 둔다 (그 뒤에는 어차피 만료된 토큰이다)
+    // currentTime 은 위 ticker 값(clock 기준 나노초)이다
+    private static final class UntilFamilyExpiry
+            implements com.github.benmanes.caffeine.cache.Expiry<String, UsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, UsedToken value, long currentTime) {
+            return Math.max(0, value.expiresAtMillis() * NANOS_PER_MILLI - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, UsedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, UsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.security.test1.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.security.test1.dto.TokenPair;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * OAuth 로그인 후 프론트엔드로 넘기는 일회용 코드 저장소.
+ * 리디렉션 URL 에는 이 코드만 싣고, 토큰 쌍은 프론트엔드가 POST /api/auth/token 으로 코드를 바꿔 본문으로 받는다.
+ * (URL 에 실린 값은 브라우저 기록, Referer, 프록시 로그에 남는다)
+ * 코드는 한 번 꺼내면 사라지고, 짧은 유효 시간이 지나도 사라진다.
+ */
+@Component
+public class LoginCodeStore {
+
+    private static final int CODE_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Cache<String, TokenPair> codes;
+    private final SecureRandom random = new SecureRandom();
+
+    public LoginCodeStore(@Value("${app.auth.login-code.ttl:60s}") Duration ttl,
+                          @Value("${app.auth.login-code.max-entries:100000}") long maxEntries) {
+        this.codes = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public String issue(TokenPair tokens) {
+        byte[] bytes = new byte[CODE_BYTES];
+        random.nextBytes(bytes);
+        String code = ENCODER.encodeToString(bytes);
+        codes.put(code, tokens);
+        return code;
+    }
+
+    /**
+     * 코드를 꺼내면서 지운다. 없거나 만료됐거나 이미 쓴 코드면 빈 값.
+     */
+    public Optional<TokenPair> redeem(String code) {
+        if (code == null || code.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(codes.asMap().remove(code));
+    }
+}
@@ -0,0 +1,161 @@
+package com.security.test1.store;
+
+import com.security.test1.service.OAuthProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 로그인 시작 시 발급한 OAuth state(+ Google nonce) 저장소. 콜백에서 한 번만 꺼내 쓸 수 있다.
+ * 만료 처리는 타이머 휠로 한다: 항목을 만료 시각이 속한 슬롯에 넣어 두고, 주기 정리 때는
+ * 지나간 슬롯만 비우므로 전체를 훑지 않는다. 저장 개수가 max-entries 에 이르면 새 발급을 거절한다.
+ */
+@Slf4j
+@Component
+public class OAuthStateStore {
+
+    public record Entry(String state, OAuthProvider provider, String nonce, long expiresAtMillis) {
+    }
+
+    private static final int STATE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String>[] wheel;
+    private long sweptTick;
+
+    @Autowired
+    public OAuthStateStore(@Value("${app.oauth.state.ttl:10m}") Duration ttl,
+                           @Value("${app.oauth.state.tick:1s}") Duration tick,
+                           @Value("${app.oauth.state.max-entries:100000}") int maxEntries,
+                           MeterRegistry meterRegistry) {
+        this(ttl, tick, maxEntries, Clock.systemUTC());
+        Gauge.builder("oauth.state.entries", entries, Map::size)
+                .description("콜백을 기다리는 OAuth state 수")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public OAuthStateStore(Duration ttl, Duration tick, int maxEntries, Clock clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+
+        // 한 바퀴가 TTL 보다 길어야 같은 슬롯에 서로 다른 바퀴의 항목이 섞이지 않는다
+        int slots = (int) (ttlMillis / tickMillis) + 2;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptTick = clock.millis() / tickMillis;
+    }
+
+    /**
+     * 새 state 를 발급한다. 저장소가 가득 차 있으면 IllegalStateException.
+     */
+    public Entry issue(OAuthProvider provider) {
+        if (entries.size() >= maxEntries) {
+            log.warn("OAuth state 저장소가 가득 차 로그인 시작을 거절합니다 - provider: {}, size: {}",
+                    provider.getDisplayName(), entries.size());
+            throw new IllegalStateException("로그인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요");
+        }
+
+        long expiresAt = clock.millis() + ttlMillis;
+        String nonce = provider == OAuthProvider.GOOGLE ? randomToken() : null;
+        Entry entry = new Entry(randomToken(), provider, nonce, expiresAt);
+
+        entries.put(entry.state(), entry);
+        wheel[slotOf(expiresAt)].add(entry.state());
+        return entry;
+    }
+
+    /**
+     * 콜백의 state 를 꺼내면서 지운다. 없거나, 다른 제공자용이거나, 만료됐으면 빈 값.
+     */
+    public Optional<Entry> consume(OAuthProvider provider, String state) {
+        if (state == null || state.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Entry entry = entries.remove(state);
+        if (entry == null || entry.provider() != provider || entry.expiresAtMillis() <= clock.millis()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 마지막 정리 이후 지나간 슬롯만 비운다. 이미 소비된 state 는 슬롯에서 조용히 빠진다.
+     */
+    @Scheduled(fixedDelayString = "${app.oauth.state.tick:1s}")
+    public synchronized void sweep() {
+        long now = clock.millis();
+        long currentTick = now / tickMillis;
+        // 휠을 한 바퀴 넘게 밀렸다면 한 바퀴만 돌면 충분하다
+        long from = Math.max(sweptTick, currentTick - wheel.length + 1);
+
+        int removed = 0;
+        for (long tick = from; tick <= currentTick; tick++) {
+            Queue<String> slot = wheel[(int) (tick % wheel.length)];
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++) {
+                String state = slot.poll();
+                if (state == null) {
+                    break;
+                }
+                Entry entry = entries.get(state);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.expiresAtMillis() <= now) {
+                    if (entries.remove(state, entry)) {
+                        removed++;
+                    }
+                } else {
+                    // 현재 틱 슬롯에 아직 만료 전인 항목이 있으면 다음 정리 때 다시 본다
+                    slot.add(state);
+                }
+            }
+        }
+        sweptTick = currentTick;
+
+        if (removed > 0) {
+            log.debug("만료된 OAuth state 정리 - {}건", removed);
+        }
+    }
+
+    private int slotOf(long expiresAtMillis) {
+        return (int) ((expiresAtMillis / tickMillis) % wheel.length);
+    }
+
+    private String randomToken() {
+        byte[] bytes = new byte[STATE_BYTES];
+        random.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+}
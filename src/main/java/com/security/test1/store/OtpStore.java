@@ -0,0 +1,313 @@
+package com.security.test1.store;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * SMS 로그인 인증 코드 저장소. 전화번호당 코드 하나이며, 검증에 성공하거나 만료되면 지운다.
+ * 틀린 횟수가 max-attempts 에 이르면 그 번호는 만료 때까지 잠근다. 이전 코드가 살아 있을 때 다시 발급하면
+ * 코드만 바꾸고 틀린 횟수는 이어가므로, 재발급으로 횟수를 초기화해 추측 한도를 늘릴 수 없다.
+ * <p>
+ * 전화번호 해시로 나눈 샤드마다 맵, 타이머 휠, 난수 생성기를 따로 두어 발급이 몰려도 같은 큐나
+ * SecureRandom 을 두고 다투지 않는다. 항목 갱신은 락 없이 맵의 조건부 replace/remove 로 한다.
+ * 만료 처리는 OAuthStateStore 와 같은 타이머 휠이라 지나간 슬롯만 비운다.
+ * 샤드마다 max-entries / 샤드 수 까지만 저장하고, 가득 찬 샤드의 새 번호 발급은 거절한다.
+ */
+@Slf4j
+@Component
+public class OtpStore {
+
+    public enum VerifyResult {
+        VERIFIED,
+        MISMATCH,
+        // 틀린 횟수가 한도에 이르러 만료 때까지 잠겼다
+        ATTEMPTS_EXCEEDED,
+        // 발급한 적 없거나 이미 쓰였거나 만료됐다
+        EXPIRED
+    }
+
+    // attempts: 지금까지 틀린 횟수
+    private record Entry(String code, long expiresAtMillis, int attempts) {
+
+        boolean isLive(long now) {
+            return expiresAtMillis > now;
+        }
+    }
+
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final int maxAttempts;
+    private final int codeLength;
+    private final int codeBound;
+    private final int maxEntriesPerShard;
+    private final Clock clock;
+    private final Shard[] shards;
+    private final int wheelSize;
+    private long sweptTick;
+
+    @Autowired
+    public OtpStore(@Value("${app.sms.otp.ttl:3m}") Duration ttl,
+                    @Value("${app.sms.otp.tick:1s}") Duration tick,
+                    @Value("${app.sms.otp.max-attempts:5}") int maxAttempts,
+                    @Value("${app.sms.otp.length:6}") int codeLength,
+                    @Value("${app.sms.otp.max-entries:200000}") int maxEntries,
+                    @Value("${app.sms.otp.shards:0}") int shards,
+                    MeterRegistry meterRegistry) {
+        this(ttl, tick, maxAttempts, codeLength, maxEntries, shards, Clock.systemUTC());
+        Gauge.builder("sms.otp.entries", this, OtpStore::size)
+                .description("검증을 기다리는 SMS 인증 코드 수")
+                .register(meterRegistry);
+    }
+
+    public OtpStore(Duration ttl, Duration tick, int maxAttempts, int codeLength, int maxEntries, int shards,
+                    Clock clock) {
+        if (codeLength < 4 || codeLength > 9) {
+            throw new IllegalArgumentException("인증 코드 길이는 4~9 자리여야 합니다: " + codeLength);
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.codeLength = codeLength;
+        this.codeBound = (int) Math.pow(10, codeLength);
+        this.clock = clock;
+
+        // 2의 거듭제곱으로 올린다. 0 이면 코어 수의 4배
+        int requested = shards > 0 ? shards : Runtime.getRuntime().availableProcessors() * 4;
+        int shardCount = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.maxEntriesPerShard = Math.max(1, maxEntries / shardCount);
+        // 한 바퀴가 TTL 보다 길어야 같은 슬롯에 서로 다른 바퀴의 항목이 섞이지 않는다
+        this.wheelSize = (int) (ttlMillis / tickMillis) + 2;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(wheelSize);
+        }
+        this.sweptTick = clock.millis() / tickMillis;
+    }
+
+    /**
+     * 새 코드를 발급한다. 번호가 속한 샤드가 가득 차 있으면 IllegalStateException.
+     * 잠긴 번호에 발급한 코드는 잠금이 풀리기 전까지 쓸 수 없으므로, 먼저 {@link #lockedForMillis} 를 확인한다.
+     */
+    public String issue(String phone) {
+        Shard shard = shardOf(phone);
+        if (shard.entries.size() >= maxEntriesPerShard && !shard.entries.containsKey(phone)) {
+            log.warn("SMS 인증 코드 저장소가 가득 차 발급을 거절합니다 - size: {}", size());
+            throw new IllegalStateException("인증 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요");
+        }
+
+        String code = randomCode(shard.random);
+        long now = clock.millis();
+        // 그사이 검증으로 늘어난 틀린 횟수를 놓치지 않도록 조건부로 바꾼다
+        while (true) {
+            Entry previous = shard.entries.get(phone);
+            Entry entry;
+            if (previous == null || !previous.isLive(now)) {
+                entry = new Entry(code, now + ttlMillis, 0);
+            } else if (previous.attempts() >= maxAttempts) {
+                // 잠금은 다시 발급해도 늘리지 않는다
+                entry = new Entry(code, previous.expiresAtMillis(), previous.attempts());
+            } else {
+                entry = new Entry(code, now + ttlMillis, previous.attempts());
+            }
+
+            boolean stored = previous == null
+                    ? shard.entries.putIfAbsent(phone, entry) == null
+                    : shard.entries.replace(phone, previous, entry);
+            if (stored) {
+                shard.wheel[slotOf(entry.expiresAtMillis())].add(phone);
+                return code;
+            }
+        }
+    }
+
+    /**
+     * 발급한 코드를 그대로 지운다 (발송 실패 등). 그사이 다시 발급된 코드는 건드리지 않는다.
+     * 틀린 횟수가 남아 있으면 횟수가 초기화되지 않도록 항목은 두고 코드만 못 쓰게 한다.
+     */
+    public void discard(String phone, String code) {
+        Shard shard = shardOf(phone);
+        Entry entry = shard.entries.get(phone);
+        if (entry == null || !code.equals(entry.code())) {
+            return;
+        }
+        if (entry.attempts() == 0) {
+            shard.entries.remove(phone, entry);
+        } else {
+            shard.entries.replace(phone, entry, new Entry(null, entry.expiresAtMillis(), entry.attempts()));
+        }
+    }
+
+    /**
+     * 틀린 횟수가 한도에 이른 번호가 풀리기까지 남은 시간. 잠기지 않았으면 0.
+     */
+    public long lockedForMillis(String phone) {
+        Entry entry = shardOf(phone).entries.get(phone);
+        long now = clock.millis();
+        if (entry == null || !entry.isLive(now) || entry.attempts() < maxAttempts) {
+            return 0;
+        }
+        return entry.expiresAtMillis() - now;
+    }
+
+    public VerifyResult verify(String phone, String code) {
+        Shard shard = shardOf(phone);
+        byte[] submitted = code != null ? code.getBytes(StandardCharsets.US_ASCII) : new byte[0];
+        long now = clock.millis();
+
+        // 같은 번호로 동시에 검증하더라도 조건부 갱신이라 틀린 횟수가 빠지거나 코드가 두 번 쓰이지 않는다
+        while (true) {
+            Entry entry = shard.entries.get(phone);
+            if (entry == null) {
+                return VerifyResult.EXPIRED;
+            }
+            if (!entry.isLive(now)) {
+                shard.entries.remove(phone, entry);
+                return VerifyResult.EXPIRED;
+            }
+            if (entry.attempts() >= maxAttempts) {
+                return VerifyResult.ATTEMPTS_EXCEEDED;
+            }
+            // 발송에 실패해 못 쓰게 된 코드
+            if (entry.code() == null) {
+                return VerifyResult.EXPIRED;
+            }
+
+            if (MessageDigest.isEqual(entry.code().getBytes(StandardCharsets.US_ASCII), submitted)) {
+                if (shard.entries.remove(phone, entry)) {
+                    return VerifyResult.VERIFIED;
+                }
+                continue;
+            }
+
+            // 한도에 이르면 지우지 않고 만료 때까지 남겨 두어, 다시 발급해도 잠긴 채로 둔다
+            int attempts = entry.attempts() + 1;
+            if (shard.entries.replace(phone, entry, new Entry(entry.code(), entry.expiresAtMillis(), attempts))) {
+                return attempts >= maxAttempts ? VerifyResult.ATTEMPTS_EXCEEDED : VerifyResult.MISMATCH;
+            }
+        }
+    }
+
+    public Duration ttl() {
+        return Duration.ofMillis(ttlMillis);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * 마지막 정리 이후 지나간 슬롯만 비운다. 이미 검증됐거나 다시 발급된 번호는 슬롯에서 조용히 빠진다.
+     */
+    @Scheduled(fixedDelayString = "${app.sms.otp.tick:1s}")
+    public synchronized void sweep() {
+        long now = clock.millis();
+        long currentTick = now / tickMillis;
+        // 휠을 한 바퀴 넘게 밀렸다면 한 바퀴만 돌면 충분하다
+        long from = Math.max(sweptTick, currentTick - wheelSize + 1);
+
+        int removed = 0;
+        for (Shard shard : shards) {
+            for (long tick = from; tick <= currentTick; tick++) {
+                removed += shard.sweep(wheelSlot(tick), now);
+            }
+        }
+        sweptTick = currentTick;
+
+        if (removed > 0) {
+            log.debug("만료된 SMS 인증 코드 정리 - {}건", removed);
+        }
+    }
+
+    private Shard shardOf(String phone) {
+        int hash = phone.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private int slotOf(long expiresAtMillis) {
+        return wheelSlot(expiresAtMillis / tickMillis);
+    }
+
+    private int wheelSlot(long tick) {
+        return (int) (tick % wheelSize);
+    }
+
+    private static SecureRandom drbg() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private String randomCode(SecureRandom random) {
+        int value = random.nextInt(codeBound);
+        char[] digits = new char[codeLength];
+        for (int i = codeLength - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
+    }
+
+    private final class Shard {
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Queue<String>[] wheel;
+        // 기본(NativePRNG)은 인스턴스가 달라도 한 락을 공유하므로, 인스턴스마다 따로 잠그는 DRBG 를 쓴다
+        private final SecureRandom random = drbg();
+
+        @SuppressWarnings("unchecked")
+        Shard(int slots) {
+            this.wheel = new Queue[slots];
+            for (int i = 0; i < slots; i++) {
+                wheel[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        int sweep(int slotIndex, long now) {
+            Queue<String> slot = wheel[slotIndex];
+            int removed = 0;
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++) {
+                String phone = slot.poll();
+                if (phone == null) {
+                    break;
+                }
+                Entry entry = entries.get(phone);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.expiresAtMillis() <= now) {
+                    if (entries.remove(phone, entry)) {
+                        removed++;
+                    }
+                } else if (slotOf(entry.expiresAtMillis()) == slotIndex) {
+                    // 현재 틱 슬롯에 아직 만료 전인 항목이 있으면 다음 정리 때 다시 본다
+                    // (다시 발급된 코드는 자기 슬롯에 따로 들어 있으므로 여기서는 버린다)
+                    slot.add(phone);
+                }
+            }
+            return removed;
+        }
+    }
+}
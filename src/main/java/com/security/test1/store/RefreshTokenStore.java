@@ -0,0 +1,37 @@
+package com.security.test1.store;
+
+import com.security.test1.dto.RefreshTokenRecord;
+
+import java.util.Optional;
+
+/**
+ * 리프레시 토큰 저장소. 키는 토큰 원문이 아닌 해시이다.
+ * 기본 구현은 InMemoryRefreshTokenStore 이며, jwt.refresh.store 를 memory 가 아닌 값으로 두고
+ * 이 타입의 빈을 등록하면 그 구현(예: Redis)을 쓴다.
+ * 교체에 쓰인 토큰은 저장소에서 빼되, 재사용을 알아챌 수 있게 해시와 가족 ID 를 (가족 만료 시각까지) 따로 남긴다.
+ * 이 표시가 아직 쓸 수 있는 토큰의 자리를 차지해서는 안 된다.
+ */
+public interface RefreshTokenStore {
+
+    void save(String tokenHash, RefreshTokenRecord record);
+
+    /**
+     * 토큰을 사용됨으로 바꾸면서 꺼낸다. 같은 토큰으로 동시에 갱신을 요청해도 한 요청만 값을 받는다.
+     */
+    Optional<RefreshTokenRecord> consume(String tokenHash);
+
+    /**
+     * 이미 교체에 쓰인 토큰이면 그 토큰의 가족 ID.
+     */
+    Optional<String> reusedFamily(String tokenHash);
+
+    /**
+     * 가족의 현재(아직 쓰이지 않은) 토큰을 폐기한다.
+     */
+    void revokeFamily(String familyId);
+
+    /**
+     * 아직 쓸 수 있는 토큰 수 (교체에 쓰인 토큰 표시는 세지 않는다).
+     */
+    int size();
+}
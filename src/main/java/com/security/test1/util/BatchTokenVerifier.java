@@ -0,0 +1,104 @@
+package com.security.test1.util;
+
+import com.security.test1.dto.VerifiedToken;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 토큰 일괄 검증. 큰 배치는 전용 스레드 풀에서 나눠 검증한다 (공용 ForkJoinPool 은 쓰지 않는다).
+ * 풀과 대기열이 모두 차면 남은 조각은 요청 스레드가 직접 검증하므로, 동시 배치가 많아도 스레드와 대기열은 늘지 않는다.
+ * 결과 순서는 입력 순서와 같다.
+ */
+@Slf4j
+@Component
+public class BatchTokenVerifier {
+
+    private final JwtUtil jwtUtil;
+    private final int parallelThreshold;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public BatchTokenVerifier(JwtUtil jwtUtil,
+                              @Value("${jwt.verify.batch.parallel-threshold:32}") int parallelThreshold,
+                              @Value("${jwt.verify.batch.threads:0}") int threads,
+                              @Value("${jwt.verify.batch.queue-capacity:64}") int queueCapacity) {
+        this.jwtUtil = jwtUtil;
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        // 0 이면 코어 수 (서명 검증은 CPU 작업이다)
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "jwt-batch-verify-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<VerifiedToken> verifyAll(List<String> tokens) {
+        int size = tokens.size();
+        // 조각 하나에 parallelThreshold 개 이상은 담는다
+        int chunks = Math.min(threads, size / parallelThreshold);
+        if (chunks <= 1) {
+            return tokens.stream().map(jwtUtil::verify).toList();
+        }
+
+        VerifiedToken[] results = new VerifiedToken[size];
+        List<Future<?>> futures = new ArrayList<>(chunks - 1);
+        int chunkSize = (size + chunks - 1) / chunks;
+        // 첫 조각은 요청 스레드가 맡는다
+        for (int from = chunkSize; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(size, from + chunkSize);
+            futures.add(executor.submit(() -> verifyRange(tokens, results, start, end)));
+        }
+        verifyRange(tokens, results, 0, Math.min(size, chunkSize));
+
+        for (Future<?> future : futures) {
+            await(future);
+        }
+        log.debug("토큰 일괄 검증 분할 - 요청 수: {}, 조각 수: {}", size, futures.size() + 1);
+        return Arrays.asList(results);
+    }
+
+    private void verifyRange(List<String> tokens, VerifiedToken[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = jwtUtil.verify(tokens.get(i));
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("토큰 일괄 검증이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("토큰 일괄 검증 실패", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.security.test1.util;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 클레임 구성이 고정된 HS256 액세스 토큰 전용 발급기.
+ * 헤더 구간은 kid 별로 한 번만 인코딩하고, 페이로드 JSON·base64url·서명은 스레드마다 재사용하는 버퍼와
+ * Mac 인스턴스로 만든다 (가상 스레드는 요청마다 새로 생기므로 ThreadLocal 대신 풀에서 빌려 쓴다). 결과는 일반 JWS compact 형식이라 jjwt 등 표준 검증기로 그대로 검증된다.
+ * <p>
+ * full 페이로드: {"email", "name", "picture", "sub", "jti", "iat", "exp"} (null 인 값은 생략)
+ * compact 페이로드: {"sub", "jti", "iat", "exp"} (jti 는 호출자가 정한다. 프로필 캐시 키로 쓰기 때문이다)
+ */
+final class HmacTokenMinter {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 32;
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+    private final Queue<State> pool = new ConcurrentLinkedQueue<>();
+
+    String mint(String kid, Key key, String email, String name, String picture, long issuedAt, long expiresAt) {
+        return mint(kid, key, email, name, picture, null, issuedAt, expiresAt);
+    }
+
+    String mintCompact(String kid, Key key, String subject, String tokenId, long issuedAt, long expiresAt) {
+        return mint(kid, key, subject, null, null, tokenId, issuedAt, expiresAt);
+    }
+
+    // tokenId 가 있으면 compact 페이로드
+    private String mint(String kid, Key key, String email, String name, String picture, String tokenId,
+                        long issuedAt, long expiresAt) {
+        if (!Thread.currentThread().isVirtual()) {
+            return mint(states.get(), kid, key, email, name, picture, tokenId, issuedAt, expiresAt);
+        }
+
+        State state = pool.poll();
+        if (state == null) {
+            state = new State();
+        }
+        try {
+            return mint(state, kid, key, email, name, picture, tokenId, issuedAt, expiresAt);
+        } finally {
+            pool.offer(state);
+        }
+    }
+
+    private static String mint(State state, String kid, Key key, String email, String name, String picture,
+                               String tokenId, long issuedAt, long expiresAt) {
+        boolean compact = tokenId != null;
+        state.bind(kid, key);
+
+        // 1. 페이로드 JSON (UTF-8)
+        state.json.reset();
+        state.json.raw('{');
+        boolean first = true;
+        if (!compact) {
+            first = state.json.field("email", email, first);
+            first = state.json.field("name", name, first);
+            first = state.json.field("picture", picture, first);
+        }
+        first = state.json.field("sub", email, first);
+        if (compact) {
+            state.json.field("jti", tokenId, first);
+        } else {
+            state.json.key("jti", first);
+            state.json.uuid(state.random);
+        }
+        state.json.key("iat", false);
+        state.json.number(issuedAt);
+        state.json.key("exp", false);
+        state.json.number(expiresAt);
+        state.json.raw('}');
+
+        // 2. 헤더.페이로드
+        byte[] header = state.header;
+        int signingInputLength = header.length + encodedLength(state.json.length);
+        int tokenLength = signingInputLength + 1 + encodedLength(SIGNATURE_BYTES);
+        byte[] out = state.out(tokenLength);
+        System.arraycopy(header, 0, out, 0, header.length);
+        int offset = encode(state.json.bytes, state.json.length, out, header.length);
+
+        // 3. 서명
+        try {
+            state.mac.update(out, 0, offset);
+            state.mac.doFinal(state.signature, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException("서명 버퍼가 부족합니다", e);
+        }
+        out[offset++] = '.';
+        offset = encode(state.signature, SIGNATURE_BYTES, out, offset);
+
+        return new String(out, 0, offset, StandardCharsets.US_ASCII);
+    }
+
+    // base64url (padding 없음) 길이
+    private static int encodedLength(int length) {
+        return (length / 3) * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    private static int encode(byte[] src, int length, byte[] dst, int offset) {
+        int i = 0;
+        for (int end = length - length % 3; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[offset++] = BASE64URL[bits >>> 18 & 0x3f];
+            dst[offset++] = BASE64URL[bits >>> 12 & 0x3f];
+            dst[offset++] = BASE64URL[bits >>> 6 & 0x3f];
+            dst[offset++] = BASE64URL[bits & 0x3f];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[offset++] = BASE64URL[bits >>> 18 & 0x3f];
+            dst[offset++] = BASE64URL[bits >>> 12 & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[offset++] = BASE64URL[bits >>> 18 & 0x3f];
+            dst[offset++] = BASE64URL[bits >>> 12 & 0x3f];
+            dst[offset++] = BASE64URL[bits >>> 6 & 0x3f];
+        }
+        return offset;
+    }
+
+    /**
+     * 스레드 전용 상태. 키가 바뀌면(키 교체) 헤더와 Mac 을 다시 준비한다.
+     */
+    private static final class State {
+
+        private final JsonBuffer json = new JsonBuffer();
+        private final byte[] signature = new byte[SIGNATURE_BYTES];
+        private final SecureRandom random = new SecureRandom();
+        private final Mac mac;
+        private byte[] out = new byte[512];
+        private byte[] header;
+        private String kid;
+        private Key key;
+
+        State() {
+            try {
+                this.mac = Mac.getInstance(MAC_ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(MAC_ALGORITHM + "를 사용할 수 없습니다", e);
+            }
+        }
+
+        void bind(String kid, Key key) {
+            if (key == this.key && kid.equals(this.kid)) {
+                return;
+            }
+            try {
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HS256 서명 키를 사용할 수 없습니다", e);
+            }
+
+            JsonBuffer headerJson = new JsonBuffer();
+            headerJson.raw('{');
+            headerJson.field("alg", "HS256", true);
+            headerJson.field("kid", kid, false);
+            headerJson.raw('}');
+
+            byte[] encoded = new byte[encodedLength(headerJson.length) + 1];
+            int length = encode(headerJson.bytes, headerJson.length, encoded, 0);
+            encoded[length] = '.';
+
+            this.header = encoded;
+            this.kid = kid;
+            this.key = key;
+        }
+
+        byte[] out(int length) {
+            if (out.length < length) {
+                out = new byte[Math.max(length, out.length * 2)];
+            }
+            return out;
+        }
+    }
+
+    /**
+     * UTF-8 JSON 을 재사용 배열에 바로 쓴다.
+     */
+    private static final class JsonBuffer {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        // null 이면 필드를 쓰지 않는다. 다음 필드가 첫 필드인지 돌려준다
+        boolean field(String name, String value, boolean first) {
+            if (value == null) {
+                return first;
+            }
+            key(name, first);
+            string(value);
+            return false;
+        }
+
+        void key(String name, boolean first) {
+            if (!first) {
+                raw(',');
+            }
+            string(name);
+            raw(':');
+        }
+
+        void number(long value) {
+            ensure(20);
+            if (value < 0) {
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte tmp = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = tmp;
+            }
+        }
+
+        // 무작위 UUID(v4) 문자열
+        void uuid(SecureRandom random) {
+            long high = random.nextLong() & ~0xf000L | 0x4000L;
+            long low = random.nextLong() & ~(0xc000L << 48) | (0x8000L << 48);
+            ensure(38);
+            bytes[length++] = '"';
+            hex(high >>> 32, 8);
+            bytes[length++] = '-';
+            hex(high >>> 16, 4);
+            bytes[length++] = '-';
+            hex(high, 4);
+            bytes[length++] = '-';
+            hex(low >>> 48, 4);
+            bytes[length++] = '-';
+            hex(low, 12);
+            bytes[length++] = '"';
+        }
+
+        private void hex(long value, int digits) {
+            for (int i = digits - 1; i >= 0; i--) {
+                bytes[length + i] = HEX[(int) (value & 0xf)];
+                value >>>= 4;
+            }
+            length += digits;
+        }
+
+        void raw(char c) {
+            ensure(1);
+            bytes[length++] = (byte) c;
+        }
+
+        private void string(String value) {
+            ensure(value.length() * 6 + 2);
+            bytes[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xc0 | c >> 6);
+                    bytes[length++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[length++] = (byte) (0xf0 | cp >> 18);
+                    bytes[length++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                    bytes[length++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                    bytes[length++] = (byte) (0x80 | cp & 0x3f);
+                } else if (Character.isSurrogate(c)) {
+                    // 짝이 없는 surrogate 는 String.getBytes 와 같이 '?' 로 바꾼다
+                    bytes[length++] = '?';
+                } else {
+                    bytes[length++] = (byte) (0xe0 | c >> 12);
+                    bytes[length++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    bytes[length++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+            bytes[length++] = '"';
+        }
+
+        private void escapeControl(char c) {
+            bytes[length++] = '\\';
+            switch (c) {
+                case '\b' -> bytes[length++] = 'b';
+                case '\f' -> bytes[length++] = 'f';
+                case '\n' -> bytes[length++] = 'n';
+                case '\r' -> bytes[length++] = 'r';
+                case '\t' -> bytes[length++] = 't';
+                default -> {
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xf];
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+        }
+    }
+}
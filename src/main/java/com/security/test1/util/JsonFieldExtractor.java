@@ -0,0 +1,88 @@
+package com.security.test1.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * JSON 을 트리로 만들지 않고 스트리밍으로 읽으면서 지정한 경로("a.b.c")의 스칼라 값만 꺼낸다.
+ * 찾는 경로와 관계없는 객체와 배열은 통째로 건너뛴다.
+ */
+public final class JsonFieldExtractor {
+
+    private final String[][] paths;
+    private final int maxDepth;
+
+    public JsonFieldExtractor(String... paths) {
+        this.paths = new String[paths.length][];
+        int depth = 0;
+        for (int i = 0; i < paths.length; i++) {
+            this.paths[i] = paths[i].split("\\.");
+            depth = Math.max(depth, this.paths[i].length);
+        }
+        this.maxDepth = depth;
+    }
+
+    /**
+     * 생성자에 넘긴 경로 순서대로 값을 돌려준다. 없거나 null 인 값은 null.
+     */
+    public String[] extract(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("JSON 객체가 아닙니다");
+        }
+
+        String[] values = new String[paths.length];
+        readObject(parser, new String[maxDepth], 0, values);
+        return values;
+    }
+
+    private void readObject(JsonParser parser, String[] stack, int depth, String[] values) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            stack[depth] = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                if (isPrefix(stack, depth + 1)) {
+                    readObject(parser, stack, depth + 1, values);
+                } else {
+                    parser.skipChildren();
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (token != JsonToken.VALUE_NULL) {
+                int index = indexOf(stack, depth + 1);
+                if (index >= 0) {
+                    values[index] = parser.getValueAsString();
+                }
+            }
+        }
+    }
+
+    private boolean isPrefix(String[] stack, int length) {
+        for (String[] path : paths) {
+            if (path.length > length && startsWith(path, stack, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(String[] stack, int length) {
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i].length == length && startsWith(paths[i], stack, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(String[] path, String[] stack, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!path[i].equals(stack[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
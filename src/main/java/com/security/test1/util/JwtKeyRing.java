@@ -0,0 +1,350 @@
+package com.security.test1.util;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * JWT 서명 키 링.
+ * 키와 파서는 등록 시 한 번만 만들고, 교체(rotate) 후에도 이전 키는 토큰 만료 시간 동안 검증용으로 유지한다.
+ * 유지 기간이 지난 키는 다음 조회(parserFor, jwkSet) 때 링에서 빠지고 JWKS 에서도 내려간다.
+ * ES256 키는 공개키를 JWKS 형태로 함께 들고 있어 다른 서비스가 직접 검증할 수 있다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private final long overlapMillis;
+    private final Clock clock;
+    private final List<Runnable> retireListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Ring ring;
+
+    public JwtKeyRing(String secret, String kid, long expiration) {
+        this(secret, kid, expiration, Clock.systemUTC());
+    }
+
+    public JwtKeyRing(String secret, String kid, long expiration, Clock clock) {
+        this(secret, kid, expiration, "HS256", "", "", clock);
+    }
+
+    @Autowired
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.kid:k1}") String kid,
+                      @Value("${jwt.expiration}") long expiration,
+                      @Value("${jwt.signing.algorithm:HS256}") String algorithm,
+                      @Value("${jwt.signing.private-key:}") String privateKey,
+                      @Value("${jwt.signing.public-key:}") String publicKey) {
+        this(secret, kid, expiration, algorithm, privateKey, publicKey, Clock.systemUTC());
+    }
+
+    public JwtKeyRing(String secret, String kid, long expiration, String algorithm, String privateKey,
+                      String publicKey, Clock clock) {
+        this.overlapMillis = expiration;
+        this.clock = clock;
+
+        SigningKey initial = switch (SignatureAlgorithm.forName(algorithm)) {
+            case HS256 -> hmacEntry(kid, secret);
+            case ES256 -> ecEntry(kid, loadEcKeyPair(privateKey, publicKey));
+            default -> throw new IllegalArgumentException("지원하지 않는 서명 알고리즘: " + algorithm);
+        };
+        this.ring = Ring.of(initial, Map.of(kid, initial));
+
+        log.info("JWT 서명 키 초기화 - kid: {}, algorithm: {}", kid, initial.getAlgorithm());
+    }
+
+    public SigningKey active() {
+        return ring.active();
+    }
+
+    /**
+     * 토큰 헤더의 kid에 맞는 파서를 돌려준다. 키가 하나뿐이면 헤더를 보지 않는다.
+     */
+    public JwtParser parserFor(String token) {
+        Ring current = current();
+        if (current.keys().size() == 1) {
+            return current.active().getParser();
+        }
+
+        String kid = peekKid(token);
+        SigningKey key = kid != null ? current.keys().get(kid) : null;
+        return (key != null ? key : current.active()).getParser();
+    }
+
+    /**
+     * 현재 검증에 쓰이는 공개키 목록 (JWKS). HMAC 키는 절대 포함하지 않는다.
+     */
+    public JwkSet jwkSet() {
+        return current().jwkSet();
+    }
+
+    /**
+     * 새 HMAC 키를 활성 키로 등록한다. 이전 활성 키는 만료 시간 동안 검증에만 사용된다.
+     */
+    public void rotate(String kid, String secret) {
+        install(hmacEntry(kid, secret));
+    }
+
+    /**
+     * 새 ES256 키 쌍을 활성 키로 등록한다.
+     */
+    public void rotate(String kid, KeyPair keyPair) {
+        install(ecEntry(kid, keyPair));
+    }
+
+    /**
+     * 검증용 키를 즉시 제거한다. 활성 키는 제거할 수 없다.
+     */
+    public synchronized void retire(String kid) {
+        Ring current = ring;
+        if (current.active().getKid().equals(kid)) {
+            throw new IllegalArgumentException("활성 키는 제거할 수 없습니다: " + kid);
+        }
+        if (!current.keys().containsKey(kid)) {
+            return;
+        }
+
+        Map<String, SigningKey> keys = new HashMap<>(current.keys());
+        keys.remove(kid);
+        ring = Ring.of(current.active(), keys);
+        retireListeners.forEach(Runnable::run);
+
+        log.info("JWT 검증 키 제거 - kid: {}", kid);
+    }
+
+    // 유지 기간이 지난 키가 있으면 빼고 돌려준다. 평소에는 시각 비교 한 번뿐이다
+    private Ring current() {
+        Ring current = ring;
+        long retireAt = current.nextRetireAt();
+        if (retireAt != 0 && retireAt <= clock.millis()) {
+            return pruneRetired();
+        }
+        return current;
+    }
+
+    private synchronized Ring pruneRetired() {
+        Ring current = ring;
+        long now = clock.millis();
+        Map<String, SigningKey> keys = new HashMap<>();
+        current.keys().forEach((k, v) -> {
+            if (!v.isRetiredAt(now)) {
+                keys.put(k, v);
+            }
+        });
+        if (keys.size() == current.keys().size()) {
+            return current;
+        }
+
+        ring = Ring.of(current.active(), keys);
+        retireListeners.forEach(Runnable::run);
+        log.info("유지 기간이 지난 JWT 검증 키 제거 - 남은 검증 키 수: {}", keys.size());
+        return ring;
+    }
+
+    // 키가 제거되면 그 키로 검증된 결과를 들고 있는 캐시가 비워지도록 알린다
+    public void addRetireListener(Runnable listener) {
+        retireListeners.add(listener);
+    }
+
+    private synchronized void install(SigningKey next) {
+        Ring current = ring;
+        if (current.keys().containsKey(next.getKid())) {
+            throw new IllegalArgumentException("이미 등록된 kid: " + next.getKid());
+        }
+
+        long now = clock.millis();
+        Map<String, SigningKey> keys = new HashMap<>();
+        current.keys().forEach((k, v) -> {
+            if (!v.isRetiredAt(now)) {
+                keys.put(k, v);
+            }
+        });
+        keys.put(current.active().getKid(), current.active().retiring(now + overlapMillis));
+        keys.put(next.getKid(), next);
+        ring = Ring.of(next, keys);
+
+        log.info("JWT 서명 키 교체 - active kid: {}, algorithm: {}, 검증 키 수: {}",
+                next.getKid(), next.getAlgorithm(), keys.size());
+    }
+
+    private static SigningKey hmacEntry(String kid, String secret) {
+        String actualSecret = secret.length() >= 32 ? secret :
+                secret + "additionalSecretToMakeItLongEnough123456";
+        SecretKey key = Keys.hmacShaKeyFor(actualSecret.getBytes(StandardCharsets.UTF_8));
+        JwtParser parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        return new SigningKey(kid, SignatureAlgorithm.HS256, key, parser, null, 0);
+    }
+
+    private static SigningKey ecEntry(String kid, KeyPair keyPair) {
+        JwtParser parser = Jwts.parserBuilder()
+                .setSigningKey(keyPair.getPublic())
+                .build();
+        return new SigningKey(kid, SignatureAlgorithm.ES256, keyPair.getPrivate(), parser,
+                toJwk(kid, (ECPublicKey) keyPair.getPublic()), 0);
+    }
+
+    private static KeyPair loadEcKeyPair(String privateKey, String publicKey) {
+        if (privateKey.isBlank() && publicKey.isBlank()) {
+            // 여러 노드가 같은 키를 써야 한다면 jwt.signing.private-key / public-key 를 설정해야 한다
+            log.warn("ES256 키가 설정되지 않아 임시 키 쌍을 생성합니다. 재시작하면 기존 토큰은 검증되지 않습니다");
+            return Keys.keyPairFor(SignatureAlgorithm.ES256);
+        }
+        if (privateKey.isBlank() || publicKey.isBlank()) {
+            throw new IllegalArgumentException("jwt.signing.private-key 와 public-key 는 함께 설정해야 합니다");
+        }
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey privateKeyValue = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+            PublicKey publicKeyValue = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey)));
+            return new KeyPair(publicKeyValue, privateKeyValue);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("ES256 키를 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] decodePem(String value) {
+        String base64 = value.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", base64Url(publicKey.getW().getAffineX()));
+        jwk.put("y", base64Url(publicKey.getW().getAffineY()));
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("kid", kid);
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    // P-256 좌표는 부호 없는 32바이트 big-endian 으로 인코딩해야 한다
+    private static String base64Url(BigInteger coordinate) {
+        byte[] raw = coordinate.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    static String peekKid(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+
+        try {
+            String header = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            int name = header.indexOf("\"kid\"");
+            if (name < 0) {
+                return null;
+            }
+            int colon = header.indexOf(':', name + 5);
+            int start = colon < 0 ? -1 : header.indexOf('"', colon + 1);
+            int end = start < 0 ? -1 : header.indexOf('"', start + 1);
+            return end < 0 ? null : header.substring(start + 1, end);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // nextRetireAt: 가장 먼저 유지 기간이 끝나는 키의 시각 (없으면 0)
+    private record Ring(SigningKey active, Map<String, SigningKey> keys, JwkSet jwkSet, long nextRetireAt) {
+
+        static Ring of(SigningKey active, Map<String, SigningKey> keys) {
+            List<Map<String, Object>> jwks = new ArrayList<>();
+            keys.values().stream()
+                    .filter(key -> key.getJwk() != null)
+                    .sorted((a, b) -> a.getKid().compareTo(b.getKid()))
+                    .forEach(key -> jwks.add(key.getJwk()));
+
+            long nextRetireAt = keys.values().stream()
+                    .mapToLong(SigningKey::getRetireAt)
+                    .filter(retireAt -> retireAt > 0)
+                    .min()
+                    .orElse(0);
+            return new Ring(active, Map.copyOf(keys), new JwkSet(Map.of("keys", List.copyOf(jwks)), etag(jwks)),
+                    nextRetireAt);
+        }
+
+        // 공개키 내용(kid 뿐 아니라 좌표까지)이 같으면 노드가 달라도 같은 ETag 가 나온다
+        private static String etag(List<Map<String, Object>> jwks) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(jwks.toString().getBytes(StandardCharsets.UTF_8));
+                return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+            }
+        }
+    }
+
+    public record JwkSet(Map<String, Object> body, String etag) {
+    }
+
+    @Getter
+    public static final class SigningKey {
+        private final String kid;
+        private final SignatureAlgorithm algorithm;
+        private final Key key;
+        private final JwtParser parser;
+        private final Map<String, Object> jwk;
+        private final long retireAt;
+
+        private SigningKey(String kid, SignatureAlgorithm algorithm, Key key, JwtParser parser,
+                           Map<String, Object> jwk, long retireAt) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.key = key;
+            this.parser = parser;
+            this.jwk = jwk;
+            this.retireAt = retireAt;
+        }
+
+        private boolean isRetiredAt(long now) {
+            return retireAt != 0 && retireAt <= now;
+        }
+
+        private SigningKey retiring(long retireAt) {
+            return new SigningKey(kid, algorithm, key, parser, jwk, retireAt);
+        }
+    }
+}
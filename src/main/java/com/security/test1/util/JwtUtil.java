@@ -1,98 +1,200 @@
 package com.security.test1.util;
 
+import com.security.test1.dto.VerifiedToken;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final int COMPACT_ID_BYTES = 16;
+    private static final Base64.Encoder ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    // compact 프로필 토큰에서 빠진 name/picture 를 jti 로 보관한다 (같은 email 이라도 로그인마다 따로)
+    private final TokenProfileCache profileCache;
+    // HS256 은 jjwt 빌더 대신 고정 클레임 전용 경로로 발급한다
+    private final HmacTokenMinter hmacMinter = new HmacTokenMinter();
+    private final SecureRandom random = new SecureRandom();
+
+    // 기동 시 한 번 등록해 두고 기록만 한다. 검증 타이머는 캐시를 지나 실제 서명을 확인할 때만 기록된다
+    private final Timer generateSuccess;
+    private final Timer generateFailure;
+    private final Timer verifySuccess;
+    private final Timer verifyFailure;
+    private final DistributionSummary fullTokenSize;
+    private final DistributionSummary compactTokenSize;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
-    private SecretKey getSigningKey() {
-        String actualSecret = secret.length() >= 32 ? secret :
-                secret + "additionalSecretToMakeItLongEnough123456";
-        return Keys.hmacShaKeyFor(actualSecret.getBytes(StandardCharsets.UTF_8));
+    // full: email/name/picture 를 모두 담는다, compact: sub/jti/iat/exp 만 담고 프로필은 서버에 둔다
+    @Value("${jwt.claims.profile:full}")
+    private String claimProfile;
+
+    public JwtUtil(JwtKeyRing keyRing,
+                   VerifiedTokenCache tokenCache,
+                   TokenRevocationList revocationList,
+                   TokenProfileCache profileCache,
+                   MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.profileCache = profileCache;
+        this.generateSuccess = timer(meterRegistry, "generate", "success");
+        this.generateFailure = timer(meterRegistry, "generate", "failure");
+        this.verifySuccess = timer(meterRegistry, "verify", "success");
+        this.verifyFailure = timer(meterRegistry, "verify", "failure");
+        this.fullTokenSize = tokenSize(meterRegistry, "full");
+        this.compactTokenSize = tokenSize(meterRegistry, "compact");
     }
 
     public String generateToken(String email, String name, String picture) {
+        long start = System.nanoTime();
         try {
-            Date now = new Date();
-            Date expiryDate = new Date(now.getTime() + expiration);
-
-            Map<String, Object> claims = new HashMap<>();
-            claims.put("email", email);
-            claims.put("name", name);
-            claims.put("picture", picture);
-            claims.put("iat", now.getTime() / 1000);
-            claims.put("exp", expiryDate.getTime() / 1000);
-
-            String token = Jwts.builder()
-                    .setClaims(claims)
-                    .setSubject(email)
-                    .setIssuedAt(now)
-                    .setExpiration(expiryDate)
-                    .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                    .compact();
-
-            log.info("JWT 토큰 생성 성공 - email: {}, name: {}", email, name);
+            // 초 단위로 자른 시각 (iat/exp 는 NumericDate)
+            long issuedAt = System.currentTimeMillis() / 1000;
+            long expiresAt = issuedAt + expiration / 1000;
+
+            JwtKeyRing.SigningKey signingKey = keyRing.active();
+            boolean compact = isCompactProfile();
+            String token;
+            if (compact) {
+                String tokenId = newCompactTokenId();
+                profileCache.put(tokenId, name, picture);
+                token = signingKey.getAlgorithm() == SignatureAlgorithm.HS256
+                        ? hmacMinter.mintCompact(signingKey.getKid(), signingKey.getKey(), email, tokenId, issuedAt, expiresAt)
+                        : Jwts.builder()
+                        .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
+                        .setSubject(email)
+                        .setId(tokenId)
+                        .setIssuedAt(new Date(issuedAt * 1000))
+                        .setExpiration(new Date(expiresAt * 1000))
+                        .signWith(signingKey.getKey(), signingKey.getAlgorithm())
+                        .compact();
+            } else {
+                token = signingKey.getAlgorithm() == SignatureAlgorithm.HS256
+                        ? hmacMinter.mint(signingKey.getKid(), signingKey.getKey(), email, name, picture, issuedAt, expiresAt)
+                        : Jwts.builder()
+                        .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
+                        .claim("email", email)
+                        .claim("name", name)
+                        .claim("picture", picture)
+                        .setSubject(email)
+                        .setId(UUID.randomUUID().toString())
+                        .setIssuedAt(new Date(issuedAt * 1000))
+                        .setExpiration(new Date(expiresAt * 1000))
+                        .signWith(signingKey.getKey(), signingKey.getAlgorithm())
+                        .compact();
+            }
+            generateSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            (compact ? compactTokenSize : fullTokenSize).record(token.length());
+
+            log.debug("JWT 토큰 생성 성공 - email: {}", email);
             return token;
 
         } catch (Exception e) {
+            generateFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.error("JWT 토큰 생성 실패", e);
             throw new RuntimeException("JWT 토큰 생성 실패: " + e.getMessage(), e);
         }
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isValid();
+    }
+
+    /**
+     * 서명을 한 번만 검증하고 필요한 클레임을 모두 담아 돌려준다.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = tokenCache.get(token, this::parseAndVerify);
+        // 캐시된 결과도 폐기 여부는 매번 확인한다
+        if (verified.isValid() && revocationList.isRevoked(verified.tokenId())) {
+            log.warn("폐기된 JWT 토큰 - jti: {}", verified.tokenId());
+            return VerifiedToken.failure(VerifiedToken.FailureReason.REVOKED);
+        }
+        return verified;
+    }
+
+    /**
+     * 유효한 토큰을 만료 전에 폐기한다. 이미 유효하지 않은 토큰이면 false.
+     */
+    public boolean revoke(String token) {
+        VerifiedToken verified = verify(token);
+        if (!verified.isValid() || verified.tokenId() == null) {
+            return false;
+        }
+        revocationList.revoke(verified.tokenId(), verified.expiresAt());
+        return true;
+    }
+
+    private VerifiedToken parseAndVerify(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verified = verifySignature(token);
+        (verified.isValid() ? verifySuccess : verifyFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    private VerifiedToken verifySignature(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = getClaims(token);
 
             log.debug("JWT 토큰 검증 성공 - subject: {}", claims.getSubject());
-            return true;
+            TokenProfileCache.Profile profile = profileOf(claims);
+            return VerifiedToken.valid(
+                    claims.getSubject(),
+                    claims.getId(),
+                    emailOf(claims),
+                    profile.name(),
+                    profile.picture(),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration())
+            );
 
         } catch (ExpiredJwtException e) {
             log.warn("만료된 JWT 토큰: {}", e.getMessage());
-            return false;
+            return VerifiedToken.failure(VerifiedToken.FailureReason.EXPIRED);
         } catch (UnsupportedJwtException e) {
             log.warn("지원되지 않는 JWT 토큰: {}", e.getMessage());
-            return false;
+            return VerifiedToken.failure(VerifiedToken.FailureReason.UNSUPPORTED);
         } catch (MalformedJwtException e) {
             log.warn("잘못된 형식의 JWT 토큰: {}", e.getMessage());
-            return false;
+            return VerifiedToken.failure(VerifiedToken.FailureReason.MALFORMED);
         } catch (SecurityException e) {
             log.warn("JWT 서명 검증 실패: {}", e.getMessage());
-            return false;
+            return VerifiedToken.failure(VerifiedToken.FailureReason.INVALID_SIGNATURE);
         } catch (IllegalArgumentException e) {
             log.warn("빈 JWT 토큰: {}", e.getMessage());
-            return false;
+            return VerifiedToken.failure(VerifiedToken.FailureReason.EMPTY);
         } catch (Exception e) {
             log.error("JWT 토큰 검증 중 알 수 없는 오류", e);
-            return false;
+            return VerifiedToken.failure(VerifiedToken.FailureReason.UNKNOWN);
         }
     }
 
     public String extractEmail(String token) {
         try {
             Claims claims = getClaims(token);
-            return claims.get("email", String.class);
+            return emailOf(claims);
         } catch (Exception e) {
             log.error("JWT에서 이메일 추출 실패", e);
             return null;
@@ -102,7 +204,7 @@ public class JwtUtil {
     public String extractName(String token) {
         try {
             Claims claims = getClaims(token);
-            return claims.get("name", String.class);
+            return profileOf(claims).name();
         } catch (Exception e) {
             log.error("JWT에서 이름 추출 실패", e);
             return null;
@@ -112,7 +214,7 @@ public class JwtUtil {
     public String extractPicture(String token) {
         try {
             Claims claims = getClaims(token);
-            return claims.get("picture", String.class);
+            return profileOf(claims).picture();
         } catch (Exception e) {
             log.error("JWT에서 프로필 사진 추출 실패", e);
             return null;
@@ -153,10 +255,11 @@ public class JwtUtil {
         try {
             Claims claims = getClaims(token);
             Map<String, Object> claimsMap = new HashMap<>();
+            TokenProfileCache.Profile profile = profileOf(claims);
 
-            claimsMap.put("email", claims.get("email"));
-            claimsMap.put("name", claims.get("name"));
-            claimsMap.put("picture", claims.get("picture"));
+            claimsMap.put("email", emailOf(claims));
+            claimsMap.put("name", profile.name());
+            claimsMap.put("picture", profile.picture());
             claimsMap.put("subject", claims.getSubject());
             claimsMap.put("issuedAt", claims.getIssuedAt());
             claimsMap.put("expiration", claims.getExpiration());
@@ -168,32 +271,82 @@ public class JwtUtil {
         }
     }
 
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("jwt.token")
+                .description("JWT 발급/서명 검증 소요 시간")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary tokenSize(MeterRegistry meterRegistry, String profile) {
+        return DistributionSummary.builder("jwt.token.size")
+                .description("발급한 액세스 토큰 길이 (Authorization 헤더에 실리는 바이트 수)")
+                .baseUnit("bytes")
+                .tag("profile", profile)
+                .register(meterRegistry);
+    }
+
+    // 16바이트 난수의 base64url
+    private String newCompactTokenId() {
+        byte[] bytes = new byte[COMPACT_ID_BYTES];
+        random.nextBytes(bytes);
+        return ID_ENCODER.encodeToString(bytes);
+    }
+
+    private boolean isCompactProfile() {
+        return "compact".equalsIgnoreCase(claimProfile);
+    }
+
+    // compact 토큰에는 email 클레임이 없고 subject 가 email 이다
+    private static String emailOf(Claims claims) {
+        String email = claims.get("email", String.class);
+        return email != null ? email : claims.getSubject();
+    }
+
+    // 토큰에 프로필이 있으면 그대로, 없으면(compact) 서버 쪽 캐시에서 찾는다
+    private TokenProfileCache.Profile profileOf(Claims claims) {
+        String name = claims.get("name", String.class);
+        String picture = claims.get("picture", String.class);
+        if (name != null || picture != null) {
+            return new TokenProfileCache.Profile(name, picture);
+        }
+        TokenProfileCache.Profile cached = profileCache.get(claims.getId());
+        return cached != null ? cached : new TokenProfileCache.Profile(null, null);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return keyRing.parserFor(token)
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     public void debugToken(String token) {
+        // 디코딩 비용이 있으므로 DEBUG 가 꺼져 있으면 아무것도 하지 않는다
+        if (!log.isDebugEnabled()) {
+            return;
+        }
         try {
-            log.info("=== JWT 토큰 디버그 정보 ===");
-            log.info("토큰 길이: {}", token.length());
+            log.debug("=== JWT 토큰 디버그 정보 ===");
+            log.debug("토큰 길이: {}", token.length());
 
             String[] parts = token.split("\\.");
-            log.info("토큰 파트 수: {}", parts.length);
+            log.debug("토큰 파트 수: {}", parts.length);
 
             if (parts.length == 3) {
                 String header = new String(java.util.Base64.getUrlDecoder().decode(parts[0]));
-                log.info("헤더: {}", header);
+                log.debug("헤더: {}", header);
 
                 String payload = new String(java.util.Base64.getUrlDecoder().decode(parts[1]));
-                log.info("페이로드: {}", payload);
+                log.debug("페이로드: {}", payload);
             }
 
             Claims claims = getClaims(token);
-            log.info("클레임: {}", claims);
+            log.debug("클레임: {}", claims);
 
         } catch (Exception e) {
             log.error("JWT 토큰 디버그 실패", e);
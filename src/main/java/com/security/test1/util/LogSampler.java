@@ -0,0 +1,52 @@
+package com.security.test1.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청마다 남는 성공 로그를 초당 정해진 건수까지만 통과시킨다.
+ * 걸러진 건수는 세어 두었다가 다음에 통과한 로그에 붙일 수 있다. 락 없이 동작한다.
+ */
+@Component
+public class LogSampler {
+
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    // 0 이하이면 모두 통과
+    private final int permitsPerSecond;
+    private final AtomicLong window = new AtomicLong(System.nanoTime() / SECOND_NANOS);
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogSampler(@Value("${app.logging.sample.per-second:0}") int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public boolean tryAcquire() {
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+
+        long now = System.nanoTime() / SECOND_NANOS;
+        long current = window.get();
+        if (now != current && window.compareAndSet(current, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * 마지막으로 꺼낸 뒤 걸러진 로그 수를 돌려주고 0 으로 되돌린다.
+     */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,211 @@
+package com.security.test1.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키(클라이언트 IP, 전화번호)별 토큰 버킷 요청 제한.
+ * 버킷 하나는 "다음 토큰이 채워지는 시각"(GCRA 의 TAT) 하나뿐인 AtomicLong 이고, 락 없이 CAS 로 갱신한다.
+ * 가득 찬 버킷은 없는 버킷과 같으므로 주기 정리 때 지운다. 정책별 키 수는 Caffeine 으로 max-keys 까지만 두고,
+ * 넘으면 드물게 쓰인 키부터 밀어낸다 (밀려난 키는 다음 요청에서 가득 찬 버킷으로 다시 시작한다).
+ * 키를 잔뜩 만들어도 다른 클라이언트가 공용 버킷에 묶여 함께 거절되는 일은 없다.
+ * 버킷은 마지막 요청 후 용량(burst)만큼의 시간이 지나면 반드시 다시 가득 차므로 그때 만료시켜도 판정은 같다.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    public enum Policy {
+        SMS_IP("sms-ip"),
+        SMS_PHONE("sms-phone"),
+        CALLBACK_IP("callback-ip"),
+        VERIFY_BATCH_IP("verify-batch-ip"),
+        OAUTH_START_IP("oauth-start-ip");
+
+        private final String tag;
+
+        Policy(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * burst: 한 번에 허용하는 요청 수, perMinute: 분당 채워지는 요청 수.
+     */
+    public record Limit(int burst, int perMinute) {
+    }
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Clock clock;
+    private final Buckets[] buckets = new Buckets[Policy.values().length];
+
+    @Autowired
+    public RateLimiter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                       @Value("${app.rate-limit.sms.per-ip.burst:10}") int smsIpBurst,
+                       @Value("${app.rate-limit.sms.per-ip.per-minute:30}") int smsIpPerMinute,
+                       @Value("${app.rate-limit.sms.per-phone.burst:3}") int smsPhoneBurst,
+                       @Value("${app.rate-limit.sms.per-phone.per-minute:5}") int smsPhonePerMinute,
+                       @Value("${app.rate-limit.callback.per-ip.burst:20}") int callbackIpBurst,
+                       @Value("${app.rate-limit.callback.per-ip.per-minute:60}") int callbackIpPerMinute,
+                       @Value("${app.rate-limit.verify-batch.per-ip.burst:5}") int verifyBatchIpBurst,
+                       @Value("${app.rate-limit.verify-batch.per-ip.per-minute:30}") int verifyBatchIpPerMinute,
+                       @Value("${app.rate-limit.oauth-start.per-ip.burst:10}") int oauthStartIpBurst,
+                       @Value("${app.rate-limit.oauth-start.per-ip.per-minute:30}") int oauthStartIpPerMinute,
+                       MeterRegistry meterRegistry) {
+        this(enabled, maxKeys, limits(smsIpBurst, smsIpPerMinute, smsPhoneBurst, smsPhonePerMinute,
+                callbackIpBurst, callbackIpPerMinute, verifyBatchIpBurst, verifyBatchIpPerMinute,
+                oauthStartIpBurst, oauthStartIpPerMinute),
+                Clock.systemUTC(), meterRegistry);
+    }
+
+    public RateLimiter(boolean enabled, int maxKeys, Map<Policy, Limit> limits, Clock clock,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        for (Policy policy : Policy.values()) {
+            Limit limit = limits.get(policy);
+            if (limit == null || limit.burst() < 1 || limit.perMinute() < 1) {
+                throw new IllegalArgumentException("요청 제한 설정이 올바르지 않습니다: " + policy.tag + " " + limit);
+            }
+            buckets[policy.ordinal()] = new Buckets(policy, limit, meterRegistry);
+        }
+        if (!enabled) {
+            log.warn("요청 제한이 꺼져 있습니다 (app.rate-limit.enabled=false)");
+        }
+    }
+
+    /**
+     * 요청 하나를 허용하면 0, 아니면 다음 요청이 허용될 때까지 남은 시간(ms, 1 이상).
+     */
+    public long tryAcquire(Policy policy, String key) {
+        if (!enabled) {
+            return 0;
+        }
+        Buckets policyBuckets = buckets[policy.ordinal()];
+        long now = clock.millis() * NANOS_PER_MILLI;
+        AtomicLong bucket = policyBuckets.bucketFor(key == null ? "" : key);
+
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now) + policyBuckets.intervalNanos;
+            long excess = next - now - policyBuckets.capacityNanos;
+            if (excess > 0) {
+                policyBuckets.rejected.increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(excess + NANOS_PER_MILLI - 1));
+            }
+            if (bucket.compareAndSet(current, next)) {
+                policyBuckets.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Retry-After 헤더 값 (초, 올림).
+     */
+    public static long retryAfterSeconds(long retryAfterMillis) {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+
+    public int size(Policy policy) {
+        Cache<String, AtomicLong> keys = buckets[policy.ordinal()].keys;
+        keys.cleanUp();
+        return (int) keys.estimatedSize();
+    }
+
+    /**
+     * 다시 가득 찬(= 한동안 요청이 없던) 버킷을 지운다.
+     * 지우는 순간 다른 요청이 같은 버킷을 쓰고 있었다면 그 한 건은 새 버킷에 반영되지 않지만, 허용 쪽으로만 어긋난다.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-interval:1m}")
+    public void purgeIdle() {
+        long now = clock.millis() * NANOS_PER_MILLI;
+        for (Buckets policyBuckets : buckets) {
+            Map<String, AtomicLong> keys = policyBuckets.keys.asMap();
+            int before = keys.size();
+            keys.values().removeIf(bucket -> bucket.get() <= now);
+            int removed = before - keys.size();
+            if (removed > 0) {
+                log.debug("유휴 요청 제한 버킷 정리 - policy: {}, removed: {}, remaining: {}",
+                        policyBuckets.policy.tag, removed, keys.size());
+            }
+        }
+    }
+
+    private static Map<Policy, Limit> limits(int smsIpBurst, int smsIpPerMinute, int smsPhoneBurst,
+                                             int smsPhonePerMinute, int callbackIpBurst, int callbackIpPerMinute,
+                                             int verifyBatchIpBurst, int verifyBatchIpPerMinute,
+                                             int oauthStartIpBurst, int oauthStartIpPerMinute) {
+        Map<Policy, Limit> limits = new EnumMap<>(Policy.class);
+        limits.put(Policy.SMS_IP, new Limit(smsIpBurst, smsIpPerMinute));
+        limits.put(Policy.SMS_PHONE, new Limit(smsPhoneBurst, smsPhonePerMinute));
+        limits.put(Policy.CALLBACK_IP, new Limit(callbackIpBurst, callbackIpPerMinute));
+        limits.put(Policy.VERIFY_BATCH_IP, new Limit(verifyBatchIpBurst, verifyBatchIpPerMinute));
+        limits.put(Policy.OAUTH_START_IP, new Limit(oauthStartIpBurst, oauthStartIpPerMinute));
+        return limits;
+    }
+
+    private final class Buckets {
+
+        private final Policy policy;
+        // 토큰 하나가 채워지는 간격과 버킷 전체 용량(burst 개)을 시간으로 나타낸 값
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final Cache<String, AtomicLong> keys;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Buckets(Policy policy, Limit limit, MeterRegistry meterRegistry) {
+            this.policy = policy;
+            this.intervalNanos = NANOS_PER_MINUTE / limit.perMinute();
+            this.capacityNanos = intervalNanos * limit.burst();
+            // 정리는 호출한 스레드에서 바로 한다 (공용 ForkJoinPool 을 쓰지 않는다)
+            this.keys = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(capacityNanos))
+                    .ticker(() -> clock.millis() * NANOS_PER_MILLI)
+                    .executor(Runnable::run)
+                    .build();
+            this.allowed = counter(meterRegistry, policy, "allowed");
+            this.rejected = counter(meterRegistry, policy, "rejected");
+            Gauge.builder("rate.limit.keys", keys, Cache::estimatedSize)
+                    .description("요청 제한 버킷을 가진 키 수")
+                    .tag("policy", policy.tag)
+                    .register(meterRegistry);
+        }
+
+        AtomicLong bucketFor(String key) {
+            // 0 은 "이미 가득 찬 버킷"이다
+            return keys.get(key, ignored -> new AtomicLong());
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, Policy policy, String outcome) {
+            return Counter.builder("rate.limit.requests")
+                    .description("요청 제한 판정 수")
+                    .tag("policy", policy.tag)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
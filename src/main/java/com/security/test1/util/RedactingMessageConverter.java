@@ -0,0 +1,44 @@
+package com.security.test1.util;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Pattern;
+
+/**
+ * 로그 메시지에서 토큰·비밀값을 가린다 (logback-spring.xml 의 %redactedMsg).
+ * 대부분의 메시지는 앞의 문자 검사에서 걸러져 정규식을 타지 않는다.
+ */
+public class RedactingMessageConverter extends MessageConverter {
+
+    static final String MASK = "****";
+
+    // key=value, key=[value] (MultiValueMap.toString), 쿼리 문자열
+    private static final Pattern SECRET_PARAM = Pattern.compile(
+            "(?i)\\b(access_token|refresh_token|refreshToken|id_token|token|client_secret|code|nonce|state)=[^&\\s,}\"]+");
+    // JSON 응답 본문
+    private static final Pattern SECRET_JSON = Pattern.compile(
+            "(?i)(\"(?:access_token|refresh_token|id_token|client_secret)\"\\s*:\\s*\")[^\"]+");
+    private static final Pattern BEARER = Pattern.compile("(?i)(Bearer\\s+)[\\w.~+/-]+=*");
+    private static final Pattern JWT = Pattern.compile("eyJ[\\w-]+\\.[\\w-]+\\.[\\w-]*");
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return redact(super.convert(event));
+    }
+
+    static String redact(String message) {
+        if (message == null || !mayContainSecret(message)) {
+            return message;
+        }
+
+        String redacted = SECRET_PARAM.matcher(message).replaceAll("$1=" + MASK);
+        redacted = SECRET_JSON.matcher(redacted).replaceAll("$1" + MASK);
+        redacted = BEARER.matcher(redacted).replaceAll("$1" + MASK);
+        return JWT.matcher(redacted).replaceAll(MASK);
+    }
+
+    private static boolean mayContainSecret(String message) {
+        return message.indexOf('=') >= 0 || message.contains("eyJ") || message.contains("\":") || message.contains("Bearer");
+    }
+}
@@ -0,0 +1,46 @@
+package com.security.test1.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * compact 토큰에서 빠진 프로필(name, picture) 보관소. 키는 토큰 jti.
+ * email 로 묶으면 같은 email 로 다른 제공자에 로그인했을 때 서로의 프로필을 덮어쓰므로, 토큰마다 따로 둔다.
+ * 액세스 토큰 수명만큼 유지하므로, 유효한 토큰은 보통 프로필을 찾을 수 있다.
+ * 재시작이나 한도 초과로 빠진 경우에는 프로필 없이(email 만) 응답한다.
+ */
+@Component
+public class TokenProfileCache {
+
+    public record Profile(String name, String picture) {
+    }
+
+    private final Cache<String, Profile> cache;
+
+    public TokenProfileCache(@Value("${jwt.claims.profile-cache.max-entries:100000}") long maxEntries,
+                             @Value("${jwt.expiration}") long accessTokenMillis,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(accessTokenMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.profile");
+    }
+
+    public void put(String tokenId, String name, String picture) {
+        if (tokenId != null) {
+            cache.put(tokenId, new Profile(name, picture));
+        }
+    }
+
+    public Profile get(String tokenId) {
+        return tokenId != null ? cache.getIfPresent(tokenId) : null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.security.test1.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 전에 폐기된 토큰(jti) 목록.
+ * 대부분의 "폐기되지 않음" 판정은 Bloom 필터에서 끝나고, 필터가 있다고 답할 때만 실제 목록을 확인한다.
+ * 토큰 exp 가 지난 항목은 주기적으로 지우고, 그때 필터도 남은 항목으로 다시 만든다 (Bloom 필터는 삭제가 안 된다).
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    // jti -> 토큰 만료 시각(epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    private final Counter falsePositiveCounter;
+
+    public TokenRevocationList(@Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        Gauge.builder("jwt.revoked.tokens", revoked, Map::size)
+                .description("만료 전에 폐기되어 아직 목록에 남아 있는 토큰 수")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("jwt.revocation.filter.false-positives")
+                .description("Bloom 필터가 있다고 답했지만 실제 목록에는 없던 조회 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰을 폐기한다. 이미 만료된 토큰은 어차피 검증에 실패하므로 기록하지 않는다.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        revoked.put(tokenId, expiresAt.toEpochMilli());
+        filter.put(tokenId);
+        log.info("토큰 폐기 - jti: {}, exp: {}", tokenId, expiresAt);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        // 폐기된 토큰이 하나도 없으면 필터도 보지 않는다
+        if (tokenId == null || revoked.isEmpty() || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositiveCounter.increment();
+        return false;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:5m}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        // 새 필터를 채워 교체한 뒤 한 번 더 채워, 재구성 도중 이전 필터에만 들어간 폐기도 놓치지 않는다
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        revoked.keySet().forEach(rebuilt::put);
+
+        int purged = before - revoked.size();
+        if (purged > 0) {
+            log.info("만료된 폐기 토큰 정리 - 삭제: {}, 남음: {}", purged, revoked.size());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.security.test1.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.security.test1.dto.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * 토큰 검증 결과 캐시 (jwt.cache.enabled=true 일 때만 동작).
+ * 키는 토큰 원문이 아닌 SHA-256 다이제스트이며, 각 항목은 늦어도 토큰의 exp 시점에 만료된다.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    // 다이제스트 키(ByteBuffer + 32바이트)와 캐시 노드의 대략적인 크기
+    private static final int ENTRY_OVERHEAD_BYTES = 200;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(VerifiedTokenCache::newSha256);
+
+    private final boolean enabled;
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-entries:100000}") long maxEntries,
+                              @Value("${jwt.cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${jwt.cache.max-ttl:5m}") Duration maxTtl,
+                              JwtKeyRing keyRing,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+
+        // 항목 하나의 최소 가중치를 maxBytes / maxEntries 로 두면 가중치 한도 하나로 개수와 메모리를 함께 제한할 수 있다
+        long minWeight = Math.max(1, (maxBytes + maxEntries - 1) / maxEntries);
+        long maxTtlNanos = maxTtl.toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ByteBuffer key, VerifiedToken value) -> (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, estimateBytes(value))))
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        if (value.expiresAt() == null) {
+                            return maxTtlNanos;
+                        }
+                        long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            keyRing.addRetireListener(this::invalidateAll);
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verify");
+            log.info("토큰 검증 캐시 활성화 - maxEntries: {}, maxBytes: {}, maxTtl: {}", maxEntries, maxBytes, maxTtl);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 검증 결과를 돌려주고, 없으면 verifier로 검증한다. 유효한 결과만 저장한다.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (!enabled || token == null || token.isEmpty()) {
+            return verifier.apply(token);
+        }
+
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = verifier.apply(token);
+        if (verified.isValid()) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static ByteBuffer digest(String token) {
+        // 가상 스레드는 요청마다 새로 생기므로 ThreadLocal 에 담아 두면 재사용되지 않고 쌓이기만 한다
+        MessageDigest digest = Thread.currentThread().isVirtual() ? newSha256() : SHA_256.get();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    private static long estimateBytes(VerifiedToken value) {
+        return ENTRY_OVERHEAD_BYTES
+                + stringBytes(value.subject())
+                + stringBytes(value.tokenId())
+                + stringBytes(value.email())
+                + stringBytes(value.name())
+                + stringBytes(value.picture());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40L + value.length() * 2L;
+    }
+}
@@ -0,0 +1,88 @@
+package com.security.test1;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.annotation.ImportCandidates;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.ldap.core.LdapTemplate;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fast 프로파일로 띄웠을 때 첫 요청 응답까지 걸린 시간을 잰다 (기동 + 지연 생성 포함).
+ * 시간은 환경마다 다르므로 로그로만 남기고, 프로파일이 실제로 적용됐는지를 확인한다.
+ */
+class FastStartTests {
+
+    private static final Logger log = LoggerFactory.getLogger(FastStartTests.class);
+
+    @Test
+    void timeToFirstRequestWithFastProfile() throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Test1Application.class)
+                .profiles("fast")
+                .applicationStartup(new BufferingApplicationStartup(4096))
+                .properties("server.port=0", "jwt.secret=fast-start-tests-secret-fast-start-01")
+                .run()) {
+            long started = System.nanoTime();
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/.well-known/jwks.json"))
+                            .timeout(Duration.ofSeconds(10))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long firstResponse = System.nanoTime();
+
+            log.info("fast 프로파일 - 기동 {}ms, 첫 요청 {}ms, 첫 응답까지 {}ms",
+                    (started - start) / 1_000_000, (firstResponse - started) / 1_000_000,
+                    (firstResponse - start) / 1_000_000);
+
+            assertThat(response.statusCode()).isEqualTo(200);
+
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            assertThat(beanFactory.getBeanDefinition("authController").isLazyInit()).isTrue();
+            assertThat(beanFactory.getBeanDefinition("jwtKeyRing").isLazyInit()).isFalse();
+            // 아무도 주입받지 않는 게이지 설정도 기동 시 만들어져야 한다
+            assertThat(context.getBean(MeterRegistry.class).find("jvm.threads.virtual.carriers").gauge()).isNotNull();
+            assertThat(beanFactory.getBeanNamesForType(LdapTemplate.class)).isEmpty();
+            assertThat(beanFactory.getBeanNamesForType(ThymeleafViewResolver.class)).isEmpty();
+        }
+    }
+
+    // 클래스 패키지가 바뀌거나 이름을 잘못 적으면 스프링 부트는 조용히 무시하므로 여기서 잡는다
+    @Test
+    void fastProfileExcludesOnlyKnownAutoConfigurations() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application-fast.yml"));
+        Properties properties = yaml.getObject();
+
+        List<String> excludes = new ArrayList<>();
+        for (int i = 0; properties.containsKey("spring.autoconfigure.exclude[" + i + "]"); i++) {
+            excludes.add(properties.getProperty("spring.autoconfigure.exclude[" + i + "]"));
+        }
+        List<String> candidates = new ArrayList<>();
+        ImportCandidates.load(AutoConfiguration.class, getClass().getClassLoader()).forEach(candidates::add);
+
+        assertThat(excludes).isNotEmpty();
+        assertThat(candidates).containsAll(excludes);
+    }
+}
@@ -0,0 +1,254 @@
+package com.security.test1.controller;
+
+import com.security.test1.config.SecurityConfig;
+import com.security.test1.dto.TokenPair;
+import com.security.test1.dto.VerifiedToken;
+import com.security.test1.service.LoginMetrics;
+import com.security.test1.service.OAuthService;
+import com.security.test1.service.ReactiveOAuthService;
+import com.security.test1.service.RefreshTokenService;
+import com.security.test1.service.SmsSender;
+import com.security.test1.store.LoginCodeStore;
+import com.security.test1.store.OAuthStateStore;
+import com.security.test1.store.OtpStore;
+import com.security.test1.util.BatchTokenVerifier;
+import com.security.test1.util.JwtUtil;
+import com.security.test1.util.LogSampler;
+import com.security.test1.util.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AuthController.class)
+@Import({SecurityConfig.class, BatchTokenVerifier.class, LoginCodeStore.class, AuthControllerTests.TestConfig.class})
+@TestPropertySource(properties = {
+        "jwt.verify.batch.max-size=50",
+        "jwt.verify.batch.parallel-threshold=4",
+        "jwt.verify.batch.threads=2"
+})
+class AuthControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoginCodeStore loginCodeStore;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+    @MockitoBean
+    private OAuthService oAuthService;
+    @MockitoBean
+    private ReactiveOAuthService reactiveOAuthService;
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+    @MockitoBean
+    private OAuthStateStore stateStore;
+    @MockitoBean
+    private LoginMetrics loginMetrics;
+    @MockitoBean
+    private LogSampler loginLogSampler;
+    @MockitoBean
+    private RateLimiter rateLimiter;
+    @MockitoBean
+    private OtpStore otpStore;
+    @MockitoBean
+    private SmsSender smsSender;
+
+    @Test
+    void emptyBatchIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/auth/verify/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+
+        mockMvc.perform(post("/api/auth/verify/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void oversizedBatchIsPayloadTooLarge() throws Exception {
+        mockMvc.perform(post("/api/auth/verify/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchOf(tokens(51))))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void mixedBatchKeepsInputOrder() throws Exception {
+        // 짝수 번째는 유효, 홀수 번째는 만료 (병렬 분할 기준을 넘는 크기)
+        List<String> tokens = tokens(20);
+        Instant now = Instant.now();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            VerifiedToken verified = i % 2 == 0
+                    ? VerifiedToken.valid(token, "jti-" + i, token + "@test.com", null, null, now, now.plusSeconds(60))
+                    : VerifiedToken.failure(VerifiedToken.FailureReason.EXPIRED);
+            when(jwtUtil.verify(token)).thenReturn(verified);
+        }
+
+        var result = mockMvc.perform(post("/api/auth/verify/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchOf(tokens)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data", hasSize(20)));
+
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i % 2 == 0) {
+                result.andExpect(jsonPath("$.data[" + i + "].valid").value(true))
+                        .andExpect(jsonPath("$.data[" + i + "].email").value(tokens.get(i) + "@test.com"));
+            } else {
+                result.andExpect(jsonPath("$.data[" + i + "].valid").value(false))
+                        .andExpect(jsonPath("$.data[" + i + "].reason").value("EXPIRED"));
+            }
+        }
+    }
+
+    @Test
+    void rateLimitedBatchIsRejectedBeforeVerification() throws Exception {
+        when(rateLimiter.tryAcquire(eq(RateLimiter.Policy.VERIFY_BATCH_IP), any())).thenReturn(1500L);
+
+        mockMvc.perform(post("/api/auth/verify/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchOf(tokens(3))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void loginCodeIsExchangedForTokensOnlyOnce() throws Exception {
+        String code = loginCodeStore.issue(new TokenPair("access", "refresh", 900));
+
+        mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"" + code + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("access"))
+                .andExpect(jsonPath("$.data.refreshToken").value("refresh"))
+                .andExpect(jsonPath("$.data.expiresIn").value(900));
+
+        mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"" + code + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void callbacksWithoutStateAreRejectedTheSameWayForAllProviders() throws Exception {
+        for (String provider : List.of("google", "kakao", "naver")) {
+            var result = mockMvc.perform(get("/api/auth/" + provider + "/callback").param("code", "provider-code"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isFound())
+                    .andExpect(redirectedUrlPattern("http://localhost:5173?status=error&message=*"));
+        }
+
+        verifyNoInteractions(oAuthService, reactiveOAuthService);
+    }
+
+    @Test
+    void oauthStartIsRateLimitedPerIp() throws Exception {
+        when(rateLimiter.tryAcquire(eq(RateLimiter.Policy.OAUTH_START_IP), any())).thenReturn(1000L);
+
+        mockMvc.perform(get("/api/auth/naver"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        verifyNoInteractions(stateStore);
+    }
+
+    @Test
+    void deprecatedSmsLoginSendsCodeLikeRequestEndpoint() throws Exception {
+        when(otpStore.issue("01012345678")).thenReturn("123456");
+        when(otpStore.ttl()).thenReturn(Duration.ofMinutes(3));
+
+        mockMvc.perform(post("/api/auth/sms")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phone\":\"010-1234-5678\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Deprecation", "true"))
+                .andExpect(header().string(HttpHeaders.LINK, "</api/auth/sms/request>; rel=\"successor-version\""))
+                .andExpect(jsonPath("$.data.expiresIn").value(180))
+                .andExpect(jsonPath("$.data.token").doesNotExist());
+
+        verify(smsSender).sendCode("01012345678", "123456", Duration.ofMinutes(3));
+    }
+
+    @Test
+    void lockedNumberGetsNoNewCode() throws Exception {
+        when(otpStore.lockedForMillis("01012345678")).thenReturn(90_000L);
+
+        mockMvc.perform(post("/api/auth/sms/request")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phone\":\"01012345678\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "90"));
+
+        verify(otpStore, never()).issue(any());
+        verifyNoInteractions(smsSender);
+    }
+
+    private static List<String> tokens(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "token-" + i).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static String batchOf(List<String> tokens) {
+        return tokens.stream().map(token -> "\"" + token + "\"")
+                .collect(Collectors.joining(",", "{\"tokens\":[", "]}"));
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.security.test1.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.security.test1.dto.ProviderProfile;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GoogleIdTokenVerifierTests {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final String NONCE = "login-nonce";
+
+    private RSAKey signingKey;
+    private HttpServer jwksServer;
+    private final AtomicInteger jwksHits = new AtomicInteger();
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("g1").generate();
+        byte[] jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/certs", exchange -> {
+            jwksHits.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(jwks);
+            }
+        });
+        jwksServer.start();
+
+        String jwkSetUri = "http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/certs";
+        verifier = new GoogleIdTokenVerifier(true, jwkSetUri, CLIENT_ID, new RestTemplate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void validIdTokenYieldsProfileWithoutUserInfoCall() throws Exception {
+        String idToken = sign(signingKey, claims(CLIENT_ID).build());
+
+        ProviderProfile profile = verifier.verify(idToken, NONCE).orElseThrow();
+
+        assertThat(profile.id()).isEqualTo("1234567890");
+        assertThat(profile.email()).isEqualTo("user@gmail.com");
+        assertThat(profile.name()).isEqualTo("User");
+        assertThat(profile.picture()).isEqualTo("https://lh3.googleusercontent.com/a/photo");
+    }
+
+    @Test
+    void keySetIsFetchedOnceAndCached() throws Exception {
+        verifier.verify(sign(signingKey, claims(CLIENT_ID).build()), NONCE);
+        verifier.verify(sign(signingKey, claims(CLIENT_ID).subject("other").build()), NONCE);
+
+        assertThat(jwksHits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void missingProfileClaimsFallBackToUserInfo() throws Exception {
+        String idToken = sign(signingKey, claims(CLIENT_ID).claim("name", null).build());
+
+        assertThat(verifier.verify(idToken, NONCE)).isEmpty();
+        assertThat(verifier.verify(null, NONCE)).isEmpty();
+    }
+
+    @Test
+    void tokenForAnotherClientIsRejected() throws Exception {
+        String idToken = sign(signingKey, claims("someone-else.apps.googleusercontent.com").build());
+
+        assertThatThrownBy(() -> verifier.verify(idToken, NONCE)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void tokenSignedWithUnknownKeyIsRejected() throws Exception {
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("g1").generate();
+        String idToken = sign(otherKey, claims(CLIENT_ID).build());
+
+        assertThatThrownBy(() -> verifier.verify(idToken, NONCE)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void tokenWithDifferentNonceIsRejected() throws Exception {
+        String idToken = sign(signingKey, claims(CLIENT_ID).claim("nonce", "replayed-nonce").build());
+
+        assertThatThrownBy(() -> verifier.verify(idToken, NONCE)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void unreachableKeySetFallsBackToUserInfo() throws Exception {
+        jwksServer.stop(0);
+
+        assertThat(verifier.verify(sign(signingKey, claims(CLIENT_ID).build()), NONCE)).isEmpty();
+    }
+
+    private static JWTClaimsSet.Builder claims(String audience) {
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .issuer("https://accounts.google.com")
+                .audience(audience)
+                .subject("1234567890")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(300)))
+                .claim("nonce", NONCE)
+                .claim("email", "user@gmail.com")
+                .claim("name", "User")
+                .claim("picture", "https://lh3.googleusercontent.com/a/photo");
+    }
+
+    private static String sign(RSAKey key, JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,76 @@
+package com.security.test1.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginMetricsTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginMetrics loginMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginMetrics = new LoginMetrics(meterRegistry);
+    }
+
+    @Test
+    void timersAreRegisteredUpFront() {
+        assertThat(timer("google", "token_exchange", "success")).isNotNull();
+        assertThat(timer("naver", "callback", "failure")).isNotNull();
+        assertThat(timer("sms", "issue", "success")).isNotNull();
+        // SMS 로그인에는 제공자 호출 단계가 없다
+        assertThat(timer("sms", "user_info", "success")).isNull();
+    }
+
+    @Test
+    void blockingCallIsRecordedByOutcome() {
+        assertThat(loginMetrics.time(OAuthProvider.KAKAO, LoginMetrics.Phase.USER_INFO, () -> "profile"))
+                .isEqualTo("profile");
+        assertThatThrownBy(() -> loginMetrics.time(OAuthProvider.KAKAO, LoginMetrics.Phase.USER_INFO, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("kakao", "user_info", "success").count()).isEqualTo(1);
+        assertThat(timer("kakao", "user_info", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void monoIsTimedFromSubscription() {
+        Mono<String> timed = loginMetrics.time(OAuthProvider.GOOGLE, LoginMetrics.Phase.ID_TOKEN, Mono.just("profile"));
+        assertThat(timer("google", "id_token", "success").count()).isZero();
+
+        assertThat(timed.block()).isEqualTo("profile");
+        assertThat(loginMetrics.time(OAuthProvider.GOOGLE, LoginMetrics.Phase.ID_TOKEN, Mono.empty()).block()).isNull();
+        assertThatThrownBy(() -> loginMetrics.time(OAuthProvider.GOOGLE, LoginMetrics.Phase.ID_TOKEN,
+                Mono.error(new IllegalStateException("boom"))).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("google", "id_token", "success").count()).isEqualTo(2);
+        assertThat(timer("google", "id_token", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void smsPhasesAreRecorded() {
+        long start = System.nanoTime();
+        loginMetrics.timeSms(LoginMetrics.Phase.ISSUE, () -> "token");
+        loginMetrics.recordSms(LoginMetrics.Phase.LOGIN, start, true);
+
+        assertThat(timer("sms", "issue", "success").count()).isEqualTo(1);
+        assertThat(timer("sms", "login", "success").count()).isEqualTo(1);
+    }
+
+    private Timer timer(String provider, String phase, String outcome) {
+        return meterRegistry.find("auth.login")
+                .tag("provider", provider)
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,163 @@
+package com.security.test1.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderCallExecutorTests {
+
+    private static final Duration BUDGET = Duration.ofSeconds(5);
+
+    private HttpServer stub;
+    private final AtomicInteger hits = new AtomicInteger();
+    // 요청 순번(1부터)을 받아 응답 지연(ms)을 돌려준다
+    private volatile IntUnaryOperator latencyMillis = hit -> 0;
+    // 요청 순번(1부터)을 받아 응답 상태 코드를 돌려준다
+    private volatile IntUnaryOperator status = hit -> 200;
+
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/", exchange -> {
+            int hit = hits.incrementAndGet();
+            sleep(latencyMillis.applyAsInt(hit));
+            respond(exchange, status.applyAsInt(hit));
+        });
+        stub.start();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(1));
+        requestFactory.setReadTimeout(Duration.ofSeconds(5));
+        restTemplate = new RestTemplate(requestFactory);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void userInfoIsRetriedOnTransientServerErrors() {
+        ProviderCallExecutor executor = newExecutor(false);
+        status = hit -> hit <= 2 ? 503 : 200;
+
+        String body = executor.fetchUserInfo(OAuthProvider.KAKAO, executor.newDeadline(), () -> get(stubUrl()));
+
+        assertThat(body).isEqualTo("ok");
+        assertThat(hits.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("oauth.provider.retries").tag("phase", "user_info").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void tokenExchangeIsNotRetriedOnceItReachedProvider() {
+        ProviderCallExecutor executor = newExecutor(false);
+        status = hit -> 503;
+
+        assertThatThrownBy(() -> executor.exchangeToken(OAuthProvider.NAVER, executor.newDeadline(), () -> get(stubUrl())))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(hits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenExchangeIsRetriedWhenConnectionIsRefused() throws IOException {
+        ProviderCallExecutor executor = newExecutor(false);
+        String refusedUrl = "http://127.0.0.1:" + unusedPort() + "/";
+        AtomicInteger attempts = new AtomicInteger();
+
+        String body = executor.exchangeToken(OAuthProvider.GOOGLE, executor.newDeadline(),
+                () -> get(attempts.incrementAndGet() == 1 ? refusedUrl : stubUrl()));
+
+        assertThat(body).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(hits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredBudgetStopsBeforeCallingProvider() {
+        ProviderCallExecutor executor = newExecutor(false);
+
+        assertThatThrownBy(() -> executor.fetchUserInfo(OAuthProvider.GOOGLE, CallDeadline.after(Duration.ZERO),
+                () -> get(stubUrl())))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(hits.get()).isZero();
+    }
+
+    @Test
+    void slowUserInfoCallIsHedgedAfterObservedP95() {
+        ProviderCallExecutor executor = newExecutor(true);
+        for (int i = 0; i < 5; i++) {
+            executor.fetchUserInfo(OAuthProvider.GOOGLE, executor.newDeadline(), () -> get(stubUrl()));
+        }
+
+        // 워밍업 뒤 첫 요청만 느리게 응답한다
+        latencyMillis = hit -> hit == 6 ? 2_000 : 0;
+        long start = System.nanoTime();
+        String body = executor.fetchUserInfo(OAuthProvider.GOOGLE, executor.newDeadline(), () -> get(stubUrl()));
+
+        assertThat(body).isEqualTo("ok");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("oauth.provider.hedges").tag("provider", "google").counter().count())
+                .isEqualTo(1);
+    }
+
+    private ProviderCallExecutor newExecutor(boolean hedgeEnabled) {
+        return new ProviderCallExecutor(new ProviderCallExecutor.Config(BUDGET, 3, Duration.ofMillis(10),
+                Duration.ofMillis(50), hedgeEnabled, 5, Duration.ofMillis(20)), meterRegistry);
+    }
+
+    private String stubUrl() {
+        return "http://127.0.0.1:" + stub.getAddress().getPort() + "/";
+    }
+
+    private String get(String url) {
+        return restTemplate.getForObject(url, String.class);
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = (status == 200 ? "ok" : "error").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
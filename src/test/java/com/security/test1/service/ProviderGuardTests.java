@@ -0,0 +1,251 @@
+package com.security.test1.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderGuardTests {
+
+    private static final ProviderCircuitBreaker.Config CONFIG = new ProviderCircuitBreaker.Config(
+            4, 4, 50, Duration.ofSeconds(2), 100, Duration.ofMillis(200), 2, 2);
+
+    private HttpServer stub;
+    private final AtomicInteger kakaoStatus = new AtomicInteger(200);
+    private final AtomicLong kakaoLatencyMillis = new AtomicLong();
+    private final AtomicInteger kakaoHits = new AtomicInteger();
+    private volatile CountDownLatch kakaoArrivals = new CountDownLatch(0);
+
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ProviderGuard guard;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/kakao", exchange -> {
+            kakaoHits.incrementAndGet();
+            kakaoArrivals.countDown();
+            sleep(kakaoLatencyMillis.get());
+            respond(exchange, kakaoStatus.get());
+        });
+        stub.createContext("/google", exchange -> respond(exchange, 200));
+        stub.start();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setReadTimeout(Duration.ofSeconds(5));
+        restTemplate = new RestTemplate(requestFactory);
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new ProviderGuard(CONFIG, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void failingProviderOpensOnlyItsOwnCircuit() throws Exception {
+        kakaoStatus.set(503);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> callKakao()).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+
+        int hits = kakaoHits.get();
+        assertThatThrownBy(() -> callKakao()).isInstanceOf(ProviderUnavailableException.class);
+        assertThat(kakaoHits.get()).isEqualTo(hits);
+
+        assertThat(guard.execute(OAuthProvider.GOOGLE, () -> get("/google"))).isEqualTo("ok");
+        assertThat(guard.state(OAuthProvider.GOOGLE)).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+
+        assertThat(meterRegistry.get("oauth.provider.circuit.state").tag("provider", "kakao").gauge().value())
+                .isEqualTo(ProviderCircuitBreaker.State.OPEN.ordinal());
+        assertThat(meterRegistry.get("oauth.provider.calls").tag("provider", "kakao").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void halfOpenProbesCloseCircuitWhenProviderRecovers() throws Exception {
+        kakaoStatus.set(500);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> callKakao()).isInstanceOf(HttpServerErrorException.class);
+        }
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+
+        kakaoStatus.set(200);
+        sleep(CONFIG.openDuration().toMillis() + 50);
+
+        assertThat(callKakao()).isEqualTo("ok");
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.HALF_OPEN);
+        assertThat(callKakao()).isEqualTo("ok");
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopensCircuit() throws Exception {
+        kakaoStatus.set(500);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> callKakao()).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        sleep(CONFIG.openDuration().toMillis() + 50);
+        assertThatThrownBy(() -> callKakao()).isInstanceOf(HttpServerErrorException.class);
+
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void callAdmittedBeforeTripDoesNotCountAsProbe() throws Exception {
+        kakaoStatus.set(500);
+        kakaoLatencyMillis.set(800);
+        kakaoArrivals = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 닫혀 있을 때 허가받은 느린 호출
+            Future<String> late = executor.submit(this::callKakao);
+            assertThat(kakaoArrivals.await(2, TimeUnit.SECONDS)).isTrue();
+
+            kakaoLatencyMillis.set(0);
+            for (int i = 0; i < 4; i++) {
+                assertThatThrownBy(() -> callKakao()).isInstanceOf(HttpServerErrorException.class);
+            }
+            assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+
+            kakaoStatus.set(200);
+            sleep(CONFIG.openDuration().toMillis() + 50);
+            assertThat(callKakao()).isEqualTo("ok");
+            assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.HALF_OPEN);
+
+            // half-open 중에 끝난 성공은 두 번째 시험 호출로 세지 않는다
+            assertThat(late.get(2, TimeUnit.SECONDS)).isEqualTo("ok");
+            assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.HALF_OPEN);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(callKakao()).isEqualTo("ok");
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cancelOfCallAdmittedBeforeTripDoesNotReturnProbePermit() throws Exception {
+        ProviderCircuitBreaker breaker = new ProviderCircuitBreaker("test", new ProviderCircuitBreaker.Config(
+                4, 4, 50, Duration.ofSeconds(2), 100, Duration.ofMillis(200), 2, 10), new SimpleMeterRegistry());
+
+        ProviderCircuitBreaker.Permit late = breaker.acquire();
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(breaker.acquire(), true, 0);
+        }
+        sleep(250);
+        breaker.acquire();
+        breaker.acquire();
+        assertThat(breaker.getState()).isEqualTo(ProviderCircuitBreaker.State.HALF_OPEN);
+
+        breaker.onCancel(late);
+
+        assertThatThrownBy(breaker::acquire).isInstanceOf(ProviderUnavailableException.class);
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsProviderFaults() {
+        kakaoStatus.set(400);
+        for (int i = 0; i < 8; i++) {
+            assertThatThrownBy(() -> callKakao()).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void localIdTokenValidationErrorsDoNotCountAsProviderFaults() {
+        for (int i = 0; i < 8; i++) {
+            assertThatThrownBy(() -> guard.execute(OAuthProvider.GOOGLE, () -> {
+                throw new BadJwtException("Google id_token nonce 불일치");
+            })).isInstanceOf(BadJwtException.class);
+        }
+        assertThat(guard.state(OAuthProvider.GOOGLE)).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+
+        JwtValidationException expired = new JwtValidationException("expired",
+                List.of(new OAuth2Error("invalid_token", "Jwt expired", null)));
+        assertThat(ProviderGuard.isProviderFault(expired)).isFalse();
+        assertThat(ProviderGuard.isProviderFault(new IllegalStateException("wrapped", expired))).isFalse();
+        assertThat(ProviderGuard.isProviderFault(new IllegalStateException("timeout"))).isTrue();
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverConcurrencyLimit() throws Exception {
+        kakaoLatencyMillis.set(500);
+        kakaoArrivals = new CountDownLatch(CONFIG.maxConcurrentCalls());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONFIG.maxConcurrentCalls());
+        try {
+            Future<String> first = executor.submit(this::callKakao);
+            Future<String> second = executor.submit(this::callKakao);
+            assertThat(kakaoArrivals.await(2, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> callKakao()).isInstanceOf(ProviderUnavailableException.class);
+
+            assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo("ok");
+            assertThat(second.get(2, TimeUnit.SECONDS)).isEqualTo("ok");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(guard.state(OAuthProvider.KAKAO)).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+        assertThat(callKakao()).isEqualTo("ok");
+    }
+
+    private String callKakao() throws Exception {
+        return guard.execute(OAuthProvider.KAKAO, () -> get("/kakao"));
+    }
+
+    private String get(String path) {
+        return restTemplate.getForObject("http://127.0.0.1:" + stub.getAddress().getPort() + path, String.class);
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = (status == 200 ? "ok" : "error").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
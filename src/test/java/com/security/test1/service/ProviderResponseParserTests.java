@@ -0,0 +1,73 @@
+package com.security.test1.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.security.test1.dto.ProviderProfile;
+import com.security.test1.dto.ProviderToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderResponseParserTests {
+
+    private final ProviderResponseParser parser = new ProviderResponseParser(new ObjectMapper());
+
+    @Test
+    void tokenResponseKeepsOnlyUsedFields() {
+        ProviderToken token = parser.parseToken(OAuthProvider.GOOGLE, body("""
+                {"access_token":"ya29.a0","expires_in":3599,"scope":"openid email","token_type":"Bearer",
+                 "id_token":"eyJ.eyJ.sig"}
+                """));
+
+        assertThat(token).isEqualTo(new ProviderToken("ya29.a0", 3599L, "eyJ.eyJ.sig"));
+    }
+
+    @Test
+    void tokenResponseWithoutAccessTokenIsRejected() {
+        assertThatThrownBy(() -> parser.parseToken(OAuthProvider.KAKAO, body("""
+                {"error":"invalid_grant","error_description":"authorization code not found"}
+                """)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Kakao");
+    }
+
+    @Test
+    void tokenResponseWithoutOptionalFieldsHasNulls() {
+        ProviderToken token = parser.parseToken(OAuthProvider.NAVER, body("{\"access_token\":\"AAAA\"}"));
+
+        assertThat(token).isEqualTo(new ProviderToken("AAAA", null, null));
+    }
+
+    @Test
+    void profilesAreReadFromEachProviderLayout() {
+        assertThat(parser.parseProfile(OAuthProvider.GOOGLE, body("""
+                {"id":"1098","email":"g@test.com","verified_email":true,"name":"Google User","picture":"https://g/p.png"}
+                """))).isEqualTo(new ProviderProfile("1098", "g@test.com", "Google User", "https://g/p.png"));
+
+        assertThat(parser.parseProfile(OAuthProvider.KAKAO, body("""
+                {"id":3001,"properties":{"nickname":"old"},
+                 "kakao_account":{"profile":{"nickname":"카카오","profile_image_url":"https://k/p.jpg"},"email":"k@test.com"}}
+                """))).isEqualTo(new ProviderProfile("3001", "k@test.com", "카카오", "https://k/p.jpg"));
+
+        assertThat(parser.parseProfile(OAuthProvider.NAVER, body("""
+                {"resultcode":"00","message":"success",
+                 "response":{"id":"nv-1","email":"n@test.com","name":"네이버","profile_image":"https://n/p.png"}}
+                """))).isEqualTo(new ProviderProfile("nv-1", "n@test.com", "네이버", "https://n/p.png"));
+    }
+
+    @Test
+    void malformedBodyIsReportedWithProvider() {
+        assertThatThrownBy(() -> parser.parseProfile(OAuthProvider.NAVER, body("{\"response\":{\"id\":")))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("Naver");
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.security.test1.service;
+
+import com.security.test1.dto.TokenPair;
+import com.security.test1.store.InMemoryRefreshTokenStore;
+import com.security.test1.support.MutableClock;
+import com.security.test1.util.JwtKeyRing;
+import com.security.test1.util.JwtUtil;
+import com.security.test1.util.TokenProfileCache;
+import com.security.test1.util.TokenRevocationList;
+import com.security.test1.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenServiceTests {
+
+    private static final long ACCESS_TOKEN_MILLIS = 900_000L;
+    private static final Duration REFRESH_TTL = Duration.ofDays(14);
+
+    private MutableClock clock;
+    private InMemoryRefreshTokenStore store;
+    private JwtUtil jwtUtil;
+    private RefreshTokenService service;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new InMemoryRefreshTokenStore(1_000, 1_000, clock);
+
+        JwtKeyRing keyRing = new JwtKeyRing("refresh-token-service-tests-secret-01", "k1", ACCESS_TOKEN_MILLIS);
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 1_000, 1 << 20,
+                Duration.ofMinutes(5), keyRing, new SimpleMeterRegistry());
+        jwtUtil = new JwtUtil(keyRing, cache, new TokenRevocationList(1_000, 0.01, new SimpleMeterRegistry()),
+                new TokenProfileCache(1_000, ACCESS_TOKEN_MILLIS, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "expiration", ACCESS_TOKEN_MILLIS);
+
+        registry = new SimpleMeterRegistry();
+        service = new RefreshTokenService(jwtUtil, store, REFRESH_TTL, ACCESS_TOKEN_MILLIS, registry, clock);
+    }
+
+    @Test
+    void refreshIssuesNewPairWithoutProviderCall() {
+        TokenPair login = service.issue("user@test.com", "User", "http://img");
+
+        TokenPair refreshed = service.refresh(login.refreshToken()).orElseThrow();
+
+        assertThat(refreshed.expiresIn()).isEqualTo(900);
+        assertThat(refreshed.refreshToken()).isNotEqualTo(login.refreshToken());
+        assertThat(jwtUtil.verify(refreshed.accessToken()).email()).isEqualTo("user@test.com");
+        assertThat(jwtUtil.verify(refreshed.accessToken()).picture()).isEqualTo("http://img");
+    }
+
+    @Test
+    void usedRefreshTokenCannotBeReplayed() {
+        TokenPair login = service.issue("user@test.com", "User", null);
+
+        assertThat(service.refresh(login.refreshToken())).isPresent();
+        assertThat(service.refresh(login.refreshToken())).isEmpty();
+    }
+
+    @Test
+    void replayedRefreshTokenRevokesWholeFamily() {
+        TokenPair login = service.issue("user@test.com", "User", null);
+        TokenPair other = service.issue("other@test.com", "Other", null);
+        TokenPair rotated = service.refresh(login.refreshToken()).orElseThrow();
+
+        // 탈취된 이전 토큰이 다시 쓰이면 정상 사용자가 가진 최신 토큰도 더는 쓸 수 없다
+        assertThat(service.refresh(login.refreshToken())).isEmpty();
+        assertThat(service.refresh(rotated.refreshToken())).isEmpty();
+        assertThat(registry.get("auth.refresh.reuse").counter().count()).isEqualTo(2);
+
+        // 다른 로그인은 영향이 없다
+        assertThat(service.refresh(other.refreshToken())).isPresent();
+    }
+
+    @Test
+    void rotationKeepsOriginalExpiry() {
+        TokenPair login = service.issue("user@test.com", "User", null);
+
+        clock.advance(Duration.ofDays(10));
+        TokenPair refreshed = service.refresh(login.refreshToken()).orElseThrow();
+
+        clock.advance(Duration.ofDays(5));
+        assertThat(service.refresh(refreshed.refreshToken())).isEmpty();
+    }
+
+    @Test
+    void unknownOrBlankTokensAreRejected() {
+        assertThat(service.refresh("not-a-refresh-token")).isEmpty();
+        assertThat(service.refresh("")).isEmpty();
+        assertThat(service.refresh(null)).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.security.test1.store;
+
+import com.security.test1.dto.RefreshTokenRecord;
+import com.security.test1.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTests {
+
+    private static final Duration REFRESH_TTL = Duration.ofDays(14);
+
+    private MutableClock clock;
+    private InMemoryRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new InMemoryRefreshTokenStore(1_000, 1_000, clock);
+    }
+
+    @Test
+    void consumedTokenIsReportedAsReusedUntilFamilyExpiry() {
+        store.save("first", record("family", clock.instant().plus(Duration.ofDays(1))));
+
+        assertThat(store.consume("first")).isPresent();
+        assertThat(store.consume("first")).isEmpty();
+        assertThat(store.reusedFamily("first")).contains("family");
+        assertThat(store.reusedFamily("unknown")).isEmpty();
+        // 교체된 토큰은 쓸 수 있는 토큰 수에 들어가지 않는다
+        assertThat(store.size()).isZero();
+        assertThat(store.usedSize()).isEqualTo(1);
+
+        clock.advance(Duration.ofDays(2));
+        assertThat(store.reusedFamily("first")).isEmpty();
+        assertThat(store.usedSize()).isZero();
+    }
+
+    @Test
+    void revokedTokenIsReportedAsReused() {
+        store.save("live", record("family", clock.instant().plus(REFRESH_TTL)));
+
+        store.revokeFamily("family");
+
+        assertThat(store.consume("live")).isEmpty();
+        assertThat(store.reusedFamily("live")).contains("family");
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void frequentRotationDoesNotEvictOtherFamiliesLiveTokens() {
+        InMemoryRefreshTokenStore small = new InMemoryRefreshTokenStore(3, 10, clock);
+        Instant expiresAt = clock.instant().plus(REFRESH_TTL);
+        small.save("other-1", record("other-1", expiresAt.minus(Duration.ofDays(2))));
+        small.save("other-2", record("other-2", expiresAt.minus(Duration.ofDays(1))));
+
+        // 한 가족이 15분마다 이틀 넘게 교체한다 (다른 가족 토큰이 먼저 만료되므로 밀어낸다면 그쪽부터다)
+        small.save("busy-0", record("busy", expiresAt));
+        for (int i = 1; i <= 200; i++) {
+            clock.advance(Duration.ofMinutes(15));
+            assertThat(small.consume("busy-" + (i - 1))).isPresent();
+            small.save("busy-" + i, record("busy", expiresAt));
+        }
+
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.usedSize()).isLessThanOrEqualTo(10);
+        assertThat(small.consume("other-1")).isPresent();
+        assertThat(small.consume("other-2")).isPresent();
+        assertThat(small.consume("busy-200")).isPresent();
+    }
+
+    @Test
+    void fullStoreEvictsEarliestExpiringToken() {
+        InMemoryRefreshTokenStore small = new InMemoryRefreshTokenStore(2, 10, clock);
+        Instant now = clock.instant();
+
+        small.save("late", record("late", now.plus(Duration.ofDays(3))));
+        small.save("early", record("early", now.plus(Duration.ofDays(1))));
+        small.save("middle", record("middle", now.plus(Duration.ofDays(2))));
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.consume("early")).isEmpty();
+        assertThat(small.consume("late")).isPresent();
+        assertThat(small.consume("middle")).isPresent();
+    }
+
+    @Test
+    void expiredTokensArePurgedOnSave() {
+        Instant now = clock.instant();
+        store.save("short", record("short", now.plus(Duration.ofMinutes(1))));
+        store.save("long", record("long", now.plus(Duration.ofDays(1))));
+
+        clock.advance(Duration.ofMinutes(2));
+        store.save("new", record("new", clock.instant().plus(Duration.ofDays(1))));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.consume("short")).isEmpty();
+    }
+
+    private static RefreshTokenRecord record(String familyId, Instant expiresAt) {
+        return new RefreshTokenRecord("user@test.com", "User", null, familyId, expiresAt);
+    }
+}
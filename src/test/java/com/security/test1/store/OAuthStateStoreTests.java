@@ -0,0 +1,104 @@
+package com.security.test1.store;
+
+import com.security.test1.service.OAuthProvider;
+import com.security.test1.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OAuthStateStoreTests {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    private MutableClock clock;
+    private OAuthStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new OAuthStateStore(TTL, TICK, 100, clock);
+    }
+
+    @Test
+    void stateCanBeConsumedOnlyOnce() {
+        OAuthStateStore.Entry entry = store.issue(OAuthProvider.KAKAO);
+
+        assertThat(store.consume(OAuthProvider.KAKAO, entry.state())).contains(entry);
+        assertThat(store.consume(OAuthProvider.KAKAO, entry.state())).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void stateIssuedForAnotherProviderIsRejected() {
+        OAuthStateStore.Entry entry = store.issue(OAuthProvider.NAVER);
+
+        assertThat(store.consume(OAuthProvider.KAKAO, entry.state())).isEmpty();
+        assertThat(store.consume(OAuthProvider.NAVER, entry.state())).isEmpty();
+    }
+
+    @Test
+    void unknownOrMissingStateIsRejected() {
+        assertThat(store.consume(OAuthProvider.GOOGLE, "not-issued")).isEmpty();
+        assertThat(store.consume(OAuthProvider.GOOGLE, "")).isEmpty();
+        assertThat(store.consume(OAuthProvider.GOOGLE, null)).isEmpty();
+    }
+
+    @Test
+    void onlyGoogleEntriesCarryNonce() {
+        assertThat(store.issue(OAuthProvider.GOOGLE).nonce()).isNotBlank();
+        assertThat(store.issue(OAuthProvider.KAKAO).nonce()).isNull();
+    }
+
+    @Test
+    void expiredStateIsRejected() {
+        OAuthStateStore.Entry entry = store.issue(OAuthProvider.GOOGLE);
+
+        clock.advance(TTL.plusSeconds(1));
+
+        assertThat(store.consume(OAuthProvider.GOOGLE, entry.state())).isEmpty();
+    }
+
+    @Test
+    void sweepRemovesOnlyExpiredEntries() {
+        store.issue(OAuthProvider.GOOGLE);
+        clock.advance(Duration.ofMinutes(5));
+        OAuthStateStore.Entry fresh = store.issue(OAuthProvider.KAKAO);
+
+        clock.advance(Duration.ofMinutes(6));
+        store.sweep();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.consume(OAuthProvider.KAKAO, fresh.state())).isPresent();
+    }
+
+    @Test
+    void sweepCatchesUpAfterMoreThanOneWheelTurn() {
+        store.issue(OAuthProvider.NAVER);
+
+        clock.advance(TTL.multipliedBy(3));
+        store.sweep();
+
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void fullStoreRejectsNewStates() {
+        OAuthStateStore small = new OAuthStateStore(TTL, TICK, 2, clock);
+        small.issue(OAuthProvider.GOOGLE);
+        small.issue(OAuthProvider.KAKAO);
+
+        assertThatThrownBy(() -> small.issue(OAuthProvider.NAVER))
+                .isInstanceOf(IllegalStateException.class);
+
+        clock.advance(TTL.plusSeconds(1));
+        small.sweep();
+
+        assertThat(small.issue(OAuthProvider.NAVER).state()).isNotBlank();
+    }
+}
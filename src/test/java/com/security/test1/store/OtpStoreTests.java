@@ -0,0 +1,179 @@
+package com.security.test1.store;
+
+import com.security.test1.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OtpStoreTests {
+
+    private static final Duration TTL = Duration.ofMinutes(3);
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final String PHONE = "01012345678";
+
+    private MutableClock clock;
+    private OtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new OtpStore(TTL, TICK, 3, 6, 1_000, 4, clock);
+    }
+
+    @Test
+    void codeVerifiesOnce() {
+        String code = store.issue(PHONE);
+
+        assertThat(code).hasSize(6).containsOnlyDigits();
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.VERIFIED);
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.EXPIRED);
+    }
+
+    @Test
+    void wrongCodesAreCountedUntilNumberIsLocked() {
+        String code = store.issue(PHONE);
+        String wrong = code.equals("000000") ? "000001" : "000000";
+
+        assertThat(store.verify(PHONE, wrong)).isEqualTo(OtpStore.VerifyResult.MISMATCH);
+        assertThat(store.verify(PHONE, null)).isEqualTo(OtpStore.VerifyResult.MISMATCH);
+        assertThat(store.verify(PHONE, wrong)).isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+        assertThat(store.lockedForMillis(PHONE)).isEqualTo(TTL.toMillis());
+    }
+
+    @Test
+    void reissueReplacesCodeButKeepsAttempts() {
+        String first = store.issue(PHONE);
+        String wrong = "x";
+        store.verify(PHONE, wrong);
+        store.verify(PHONE, wrong);
+
+        String code = store.issue(PHONE);
+
+        // 틀린 횟수는 새 코드로 이어지므로 한 번 더 틀리면 잠긴다
+        assertThat(store.verify(PHONE, first.equals(code) ? wrong : first))
+                .isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+    }
+
+    @Test
+    void reissueDoesNotExtendLock() {
+        store.issue(PHONE);
+        for (int i = 0; i < 3; i++) {
+            store.verify(PHONE, "x");
+            store.issue(PHONE);
+        }
+        assertThat(store.lockedForMillis(PHONE)).isPositive();
+
+        clock.advance(Duration.ofMinutes(1));
+        String code = store.issue(PHONE);
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+
+        // 잠금은 마지막으로 틀린 코드의 만료 시각에 풀리고, 그 뒤 발급은 처음부터 센다
+        clock.advance(TTL);
+        assertThat(store.lockedForMillis(PHONE)).isZero();
+        code = store.issue(PHONE);
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.VERIFIED);
+    }
+
+    @Test
+    void discardKeepsAttemptsOfUndeliveredCode() {
+        store.issue(PHONE);
+        store.verify(PHONE, "x");
+        store.verify(PHONE, "x");
+
+        String undelivered = store.issue(PHONE);
+        store.discard(PHONE, undelivered);
+
+        assertThat(store.verify(PHONE, undelivered)).isEqualTo(OtpStore.VerifyResult.EXPIRED);
+        String code = store.issue(PHONE);
+        assertThat(store.verify(PHONE, "x")).isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.ATTEMPTS_EXCEEDED);
+    }
+
+    @Test
+    void expiredCodesFailAndAreSweptWithoutFullScan() {
+        String code = store.issue(PHONE);
+        store.issue("01099998888");
+
+        clock.advance(TTL.plusSeconds(1));
+        assertThat(store.verify(PHONE, code)).isEqualTo(OtpStore.VerifyResult.EXPIRED);
+
+        store.sweep();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void sweepKeepsCodesThatAreNotDue() {
+        store.issue(PHONE);
+        clock.advance(Duration.ofMinutes(1));
+        String later = store.issue("01099998888");
+
+        clock.advance(Duration.ofMinutes(2).plusSeconds(1));
+        store.sweep();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.verify("01099998888", later)).isEqualTo(OtpStore.VerifyResult.VERIFIED);
+    }
+
+    @Test
+    void discardKeepsNewerCode() {
+        String first = store.issue(PHONE);
+        String second = store.issue(PHONE);
+
+        store.discard(PHONE, first.equals(second) ? "x" : first);
+
+        assertThat(store.verify(PHONE, second)).isEqualTo(OtpStore.VerifyResult.VERIFIED);
+    }
+
+    @Test
+    void fullShardRejectsNewNumbers() {
+        OtpStore small = new OtpStore(TTL, TICK, 3, 6, 1, 1, clock);
+        small.issue(PHONE);
+
+        assertThatThrownBy(() -> small.issue("01099998888")).isInstanceOf(IllegalStateException.class);
+        // 이미 있는 번호는 다시 발급할 수 있다
+        assertThat(small.issue(PHONE)).hasSize(6);
+
+        clock.advance(TTL.plusSeconds(1));
+        small.sweep();
+        assertThat(small.issue("01099998888")).hasSize(6);
+    }
+
+    @Test
+    void concurrentVerificationsUseCodeOnlyOnce() throws InterruptedException {
+        String code = store.issue(PHONE);
+        int threads = 8;
+        AtomicInteger verified = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (store.verify(PHONE, code) == OtpStore.VerifyResult.VERIFIED) {
+                    verified.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(verified.get()).isEqualTo(1);
+    }
+}
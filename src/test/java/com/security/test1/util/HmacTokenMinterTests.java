@@ -0,0 +1,107 @@
+package com.security.test1.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacTokenMinterTests {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(
+            "hmac-token-minter-tests-secret-0001".getBytes(StandardCharsets.UTF_8));
+    private static final long IAT = 1_735_689_600L;
+    private static final long EXP = IAT + 900;
+
+    private final HmacTokenMinter minter = new HmacTokenMinter();
+
+    @Test
+    void mintedTokenVerifiesWithStandardParser() {
+        String token = minter.mint("k1", KEY, "user@test.com", "User", "http://img", IAT, EXP);
+
+        Jws<Claims> jws = parse(token);
+        Claims claims = jws.getBody();
+
+        assertThat(jws.getHeader().getKeyId()).isEqualTo("k1");
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("HS256");
+        assertThat(claims.get("email", String.class)).isEqualTo("user@test.com");
+        assertThat(claims.get("name", String.class)).isEqualTo("User");
+        assertThat(claims.get("picture", String.class)).isEqualTo("http://img");
+        assertThat(claims.getSubject()).isEqualTo("user@test.com");
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(IAT * 1000);
+        assertThat(claims.getExpiration().getTime()).isEqualTo(EXP * 1000);
+        assertThat(UUID.fromString(claims.getId()).version()).isEqualTo(4);
+    }
+
+    @Test
+    void escapesAndEncodesNonAsciiValues() {
+        String name = "홍길동 \"따옴표\" \\ 줄\n바꿈\t\u0001 😀";
+        String token = minter.mint("k1", KEY, "user@test.com", name, null, IAT, EXP);
+
+        Claims claims = parse(token).getBody();
+
+        assertThat(claims.get("name", String.class)).isEqualTo(name);
+        assertThat(claims).doesNotContainKey("picture");
+    }
+
+    @Test
+    void headerIsRebuiltWhenKeyChanges() {
+        SecretKey rotated = Keys.hmacShaKeyFor("hmac-token-minter-tests-secret-0002".getBytes(StandardCharsets.UTF_8));
+
+        minter.mint("k1", KEY, "user@test.com", "User", null, IAT, EXP);
+        String token = minter.mint("k2", rotated, "user@test.com", "User", null, IAT, EXP);
+
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        assertThat(header).isEqualTo("{\"alg\":\"HS256\",\"kid\":\"k2\"}");
+        assertThat(Jwts.parserBuilder().setSigningKey(rotated).setClock(() -> new Date(IAT * 1000)).build()
+                .parseClaimsJws(token).getBody().getSubject())
+                .isEqualTo("user@test.com");
+    }
+
+    @Test
+    void tokensHaveUniqueIds() {
+        String first = minter.mint("k1", KEY, "user@test.com", "User", null, IAT, EXP);
+        String second = minter.mint("k1", KEY, "user@test.com", "User", null, IAT, EXP);
+
+        assertThat(parse(first).getBody().getId()).isNotEqualTo(parse(second).getBody().getId());
+    }
+
+    @Test
+    void compactTokenCarriesOnlyRegisteredClaims() {
+        String token = minter.mintCompact("k1", KEY, "user@test.com", "ZGVtby10b2tlbi1pZA", IAT, EXP);
+
+        Claims claims = parse(token).getBody();
+
+        assertThat(claims).containsOnlyKeys("sub", "jti", "iat", "exp");
+        assertThat(claims.getSubject()).isEqualTo("user@test.com");
+        assertThat(claims.getId()).isEqualTo("ZGVtby10b2tlbi1pZA");
+    }
+
+    @Test
+    void mintsOnVirtualThreads() throws InterruptedException {
+        AtomicReference<String> token = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> token.set(minter.mint("k1", KEY, "user@test.com", "User", null, IAT, EXP)))
+                .join();
+
+        assertThat(parse(token.get()).getBody().getSubject()).isEqualTo("user@test.com");
+    }
+
+    private static Jws<Claims> parse(String token) {
+        // 고정 시각으로 만든 토큰이므로 검증 시각도 발급 시각에 맞춘다
+        return Jwts.parserBuilder()
+                .setSigningKey(KEY)
+                .setClock(() -> new Date(IAT * 1000))
+                .build()
+                .parseClaimsJws(token);
+    }
+}
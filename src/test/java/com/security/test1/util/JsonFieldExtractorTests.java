@@ -0,0 +1,89 @@
+package com.security.test1.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonFieldExtractorTests {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    @Test
+    void nestedPathsAreReadInConstructorOrder() throws IOException {
+        JsonFieldExtractor extractor = new JsonFieldExtractor(
+                "id", "kakao_account.email", "kakao_account.profile.nickname");
+
+        String[] values = extract(extractor, """
+                {"id":12345,
+                 "connected_at":"2024-01-01T00:00:00Z",
+                 "kakao_account":{"profile":{"nickname":"홍길동","is_default_image":true},"email":"user@test.com"}}
+                """);
+
+        assertThat(values).containsExactly("12345", "user@test.com", "홍길동");
+    }
+
+    @Test
+    void escapedStringsAreUnescaped() throws IOException {
+        JsonFieldExtractor extractor = new JsonFieldExtractor("name", "picture");
+
+        String[] values = extract(extractor, """
+                {"name":"\\"홍\\" \\\\ \\u00e9\\n","picture":"https:\\/\\/example.com\\/a.png"}
+                """);
+
+        assertThat(values).containsExactly("\"홍\" \\ é\n", "https://example.com/a.png");
+    }
+
+    @Test
+    void missingAndNullFieldsAreNull() throws IOException {
+        JsonFieldExtractor extractor = new JsonFieldExtractor("id", "email", "response.name");
+
+        String[] values = extract(extractor, """
+                {"id":"abc","email":null,"response":{}}
+                """);
+
+        assertThat(values).containsExactly("abc", null, null);
+    }
+
+    @Test
+    void arraysAndUnrelatedObjectsBeforeTargetAreSkipped() throws IOException {
+        JsonFieldExtractor extractor = new JsonFieldExtractor("response.email");
+
+        String[] values = extract(extractor, """
+                {"items":[{"response":{"email":"array@test.com"}},[1,2,[3]]],
+                 "other":{"response":{"email":"other@test.com"}},
+                 "response":{"tags":["a","b"],"email":"user@test.com"}}
+                """);
+
+        assertThat(values).containsExactly("user@test.com");
+    }
+
+    @Test
+    void objectAtScalarPathIsIgnored() throws IOException {
+        JsonFieldExtractor extractor = new JsonFieldExtractor("email", "id");
+
+        String[] values = extract(extractor, """
+                {"email":{"value":"user@test.com"},"id":"1"}
+                """);
+
+        assertThat(values).containsExactly(null, "1");
+    }
+
+    @Test
+    void nonObjectRootIsRejected() {
+        JsonFieldExtractor extractor = new JsonFieldExtractor("id");
+
+        assertThatThrownBy(() -> extract(extractor, "[{\"id\":1}]"))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static String[] extract(JsonFieldExtractor extractor, String json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return extractor.extract(parser);
+        }
+    }
+}
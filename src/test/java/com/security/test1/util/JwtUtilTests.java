@@ -0,0 +1,297 @@
+package com.security.test1.util;
+
+import com.security.test1.dto.VerifiedToken;
+import com.security.test1.support.MutableClock;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+
+    private static final long EXPIRATION = 3_600_000L;
+
+    private JwtKeyRing keyRing;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = new JwtKeyRing("first-secret-for-jwt-util-tests-0001", "k1", EXPIRATION);
+        jwtUtil = newJwtUtil(keyRing, false);
+    }
+
+    private static JwtUtil newJwtUtil(JwtKeyRing keyRing, boolean cacheEnabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(cacheEnabled, 1_000, 1 << 20,
+                Duration.ofMinutes(5), keyRing, new SimpleMeterRegistry());
+        JwtUtil jwtUtil = new JwtUtil(keyRing, cache, new TokenRevocationList(1_000, 0.01, new SimpleMeterRegistry()),
+                new TokenProfileCache(1_000, EXPIRATION, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        return jwtUtil;
+    }
+
+    private static JwtUtil newJwtUtil(JwtKeyRing keyRing, SimpleMeterRegistry registry, String claimProfile) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 1_000, 1 << 20,
+                Duration.ofMinutes(5), keyRing, registry);
+        JwtUtil jwtUtil = new JwtUtil(keyRing, cache, new TokenRevocationList(1_000, 0.01, registry),
+                new TokenProfileCache(1_000, EXPIRATION, registry), registry);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtil, "claimProfile", claimProfile);
+        return jwtUtil;
+    }
+
+    @Test
+    void generatedTokenCarriesKidAndValidates() {
+        String token = jwtUtil.generateToken("user@test.com", "User", "http://img");
+
+        assertThat(JwtKeyRing.peekKid(token)).isEqualTo("k1");
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+        assertThat(jwtUtil.extractEmail(token)).isEqualTo("user@test.com");
+    }
+
+    @Test
+    void rotationKeepsOldTokensValidUntilRetired() {
+        String oldToken = jwtUtil.generateToken("old@test.com", "Old", null);
+
+        keyRing.rotate("k2", "second-secret-for-jwt-util-tests-0002");
+        String newToken = jwtUtil.generateToken("new@test.com", "New", null);
+
+        assertThat(JwtKeyRing.peekKid(newToken)).isEqualTo("k2");
+        assertThat(jwtUtil.validateToken(oldToken)).isTrue();
+        assertThat(jwtUtil.validateToken(newToken)).isTrue();
+
+        keyRing.retire("k1");
+
+        assertThat(jwtUtil.validateToken(oldToken)).isFalse();
+        assertThat(jwtUtil.validateToken(newToken)).isTrue();
+    }
+
+    @Test
+    void verifyReturnsAllClaimsFromSingleParse() {
+        String token = jwtUtil.generateToken("user@test.com", "User", "http://img");
+
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.subject()).isEqualTo("user@test.com");
+        assertThat(verified.name()).isEqualTo("User");
+        assertThat(verified.picture()).isEqualTo("http://img");
+        assertThat(verified.expiresAt()).isAfter(verified.issuedAt());
+    }
+
+    @Test
+    void compactProfileKeepsProfileOutOfToken() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtUtil full = newJwtUtil(keyRing, registry, "full");
+        JwtUtil compact = newJwtUtil(keyRing, registry, "compact");
+        String picture = "http://k.kakaocdn.net/dn/bYl4Qm/btsLx9Zp2Qa/7kFqGvN3u1wR0sTb5yXcKk/img_640x640.jpg";
+
+        String fullToken = full.generateToken("user@test.com", "User", picture);
+        String compactToken = compact.generateToken("user@test.com", "User", picture);
+
+        String payload = new String(Base64.getUrlDecoder().decode(compactToken.split("\\.")[1]),
+                StandardCharsets.UTF_8);
+        assertThat(payload).doesNotContain("email", "name", "picture");
+        assertThat(compactToken.length()).isLessThan(fullToken.length());
+
+        VerifiedToken verified = compact.verify(compactToken);
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.email()).isEqualTo("user@test.com");
+        assertThat(verified.name()).isEqualTo("User");
+        assertThat(verified.picture()).isEqualTo(picture);
+        assertThat(compact.extractAllClaims(compactToken)).containsEntry("picture", picture);
+
+        assertThat(registry.get("jwt.token.size").tag("profile", "compact").summary().mean())
+                .isEqualTo(compactToken.length());
+        assertThat(registry.get("jwt.token.size").tag("profile", "full").summary().mean())
+                .isEqualTo(fullToken.length());
+    }
+
+    @Test
+    void compactProfilesOfSameEmailDoNotOverwriteEachOther() {
+        JwtUtil compact = newJwtUtil(keyRing, new SimpleMeterRegistry(), "compact");
+
+        // 같은 email 로 Google, 카카오에 차례로 로그인
+        String googleToken = compact.generateToken("user@test.com", "Google User", "http://google/p.png");
+        String kakaoToken = compact.generateToken("user@test.com", "카카오 사용자", "http://kakao/p.jpg");
+
+        assertThat(compact.verify(googleToken).name()).isEqualTo("Google User");
+        assertThat(compact.verify(googleToken).picture()).isEqualTo("http://google/p.png");
+        assertThat(compact.verify(kakaoToken).name()).isEqualTo("카카오 사용자");
+        assertThat(compact.verify(kakaoToken).picture()).isEqualTo("http://kakao/p.jpg");
+    }
+
+    @Test
+    void compactTokenWithoutCachedProfileStillVerifies() {
+        String token = newJwtUtil(keyRing, new SimpleMeterRegistry(), "compact")
+                .generateToken("user@test.com", "User", null);
+
+        // 다른 인스턴스(재시작 등)는 프로필 캐시가 비어 있다
+        VerifiedToken verified = newJwtUtil(keyRing, new SimpleMeterRegistry(), "compact").verify(token);
+
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.email()).isEqualTo("user@test.com");
+        assertThat(verified.name()).isNull();
+    }
+
+    @Test
+    void verifyReportsFailureReason() {
+        assertThat(jwtUtil.verify("not-a-token").failureReason())
+                .isEqualTo(VerifiedToken.FailureReason.MALFORMED);
+        assertThat(jwtUtil.verify("").failureReason())
+                .isEqualTo(VerifiedToken.FailureReason.EMPTY);
+    }
+
+    @Test
+    void rotatedKeyStopsVerifyingAfterOverlap() {
+        MutableClock clock = new MutableClock(Instant.now());
+        JwtKeyRing ring = new JwtKeyRing("first-secret-for-jwt-util-tests-0001", "k1", EXPIRATION, clock);
+        JwtUtil util = newJwtUtil(ring, false);
+        String oldToken = util.generateToken("old@test.com", "Old", null);
+
+        ring.rotate("k2", "second-secret-for-jwt-util-tests-0002");
+        String newToken = util.generateToken("new@test.com", "New", null);
+        assertThat(util.validateToken(oldToken)).isTrue();
+
+        clock.advance(Duration.ofMillis(EXPIRATION).plusSeconds(1));
+
+        assertThat(util.validateToken(oldToken)).isFalse();
+        assertThat(util.validateToken(newToken)).isTrue();
+    }
+
+    @Test
+    void jwksDropsRetiredKeyAndEtagTracksKeyContents() {
+        MutableClock clock = new MutableClock(Instant.now());
+        JwtKeyRing ring = new JwtKeyRing("", "es1", EXPIRATION, "ES256", "", "", clock);
+        String initialEtag = ring.jwkSet().etag();
+
+        ring.rotate("es2", Keys.keyPairFor(SignatureAlgorithm.ES256));
+        assertThat(ring.jwkSet().body().get("keys")).asList().hasSize(2);
+        String rotatedEtag = ring.jwkSet().etag();
+        assertThat(rotatedEtag).isNotEqualTo(initialEtag);
+
+        clock.advance(Duration.ofMillis(EXPIRATION).plusSeconds(1));
+
+        assertThat(ring.jwkSet().body().get("keys")).asList()
+                .singleElement()
+                .satisfies(jwk -> assertThat((Map<?, ?>) jwk).containsEntry("kid", "es2"));
+        assertThat(ring.jwkSet().etag()).isNotEqualTo(rotatedEtag);
+
+        // kid 가 같아도 키가 다르면 ETag 가 다르다
+        JwtKeyRing other = new JwtKeyRing("", "es1", EXPIRATION, "ES256", "", "", clock);
+        assertThat(other.jwkSet().etag()).isNotEqualTo(initialEtag);
+    }
+
+    @Test
+    void activeKeyCannotBeRetired() {
+        assertThatThrownBy(() -> keyRing.retire("k1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tokenFromUnknownKeyIsRejected() {
+        JwtKeyRing otherRing = new JwtKeyRing("another-secret-for-jwt-util-tests-003", "k1", EXPIRATION);
+        JwtUtil other = newJwtUtil(otherRing, false);
+
+        assertThat(jwtUtil.validateToken(other.generateToken("x@test.com", "X", null))).isFalse();
+    }
+
+    @Test
+    void es256TokensVerifyAndPublishOnlyPublicKeys() {
+        JwtKeyRing ecRing = new JwtKeyRing("", "es1", EXPIRATION, "ES256", "", "");
+        JwtUtil ec = newJwtUtil(ecRing, false);
+
+        String token = ec.generateToken("user@test.com", "User", null);
+
+        assertThat(ec.verify(token).isValid()).isTrue();
+        assertThat(ecRing.jwkSet().body().get("keys")).asList()
+                .singleElement()
+                .satisfies(jwk -> assertThat((Map<?, ?>) jwk)
+                        .containsEntry("kid", "es1")
+                        .containsEntry("kty", "EC")
+                        .doesNotContainKey("d"));
+        assertThat(keyRing.jwkSet().body().get("keys")).asList().isEmpty();
+    }
+
+    @Test
+    void cacheServesRepeatedVerificationsUntilKeyIsRetired() {
+        JwtUtil cached = newJwtUtil(keyRing, true);
+        VerifiedTokenCache cache = (VerifiedTokenCache) ReflectionTestUtils.getField(cached, "tokenCache");
+        String oldToken = cached.generateToken("user@test.com", "User", null);
+
+        cached.verify(oldToken);
+        cached.verify(oldToken);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+
+        keyRing.rotate("k2", "second-secret-for-jwt-util-tests-0002");
+        keyRing.retire("k1");
+
+        assertThat(cached.verify(oldToken).isValid()).isFalse();
+    }
+
+    @Test
+    void cacheDoesNotStoreFailures() {
+        JwtUtil cached = newJwtUtil(keyRing, true);
+        VerifiedTokenCache cache = (VerifiedTokenCache) ReflectionTestUtils.getField(cached, "tokenCache");
+
+        cached.verify("not-a-token");
+        cached.verify("not-a-token");
+
+        assertThat(cache.stats().hitCount()).isZero();
+    }
+
+    @Test
+    void revokedTokenFailsEvenWhenCached() {
+        JwtUtil cached = newJwtUtil(keyRing, true);
+        String token = cached.generateToken("user@test.com", "User", null);
+        String other = cached.generateToken("user@test.com", "User", null);
+        assertThat(cached.verify(token).isValid()).isTrue();
+
+        assertThat(cached.revoke(token)).isTrue();
+
+        assertThat(cached.verify(token).failureReason()).isEqualTo(VerifiedToken.FailureReason.REVOKED);
+        assertThat(cached.verify(other).isValid()).isTrue();
+        assertThat(cached.revoke(token)).isFalse();
+    }
+
+    @Test
+    void expiredRevocationsArePurged() throws InterruptedException {
+        TokenRevocationList revocations = new TokenRevocationList(1_000, 0.01, new SimpleMeterRegistry());
+        revocations.revoke("short-lived", Instant.now().plusMillis(50));
+        revocations.revoke("long-lived", Instant.now().plusSeconds(60));
+
+        Thread.sleep(100);
+        revocations.purgeExpired();
+
+        assertThat(revocations.size()).isEqualTo(1);
+        assertThat(revocations.isRevoked("short-lived")).isFalse();
+        assertThat(revocations.isRevoked("long-lived")).isTrue();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("jti-" + i)).isTrue();
+        }
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -0,0 +1,152 @@
+package com.security.test1.util;
+
+import com.security.test1.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+    private static final Map<RateLimiter.Policy, RateLimiter.Limit> LIMITS = Map.of(
+            RateLimiter.Policy.SMS_IP, new RateLimiter.Limit(3, 60),
+            RateLimiter.Policy.SMS_PHONE, new RateLimiter.Limit(1, 6),
+            RateLimiter.Policy.CALLBACK_IP, new RateLimiter.Limit(5, 60),
+            RateLimiter.Policy.VERIFY_BATCH_IP, new RateLimiter.Limit(2, 60),
+            RateLimiter.Policy.OAUTH_START_IP, new RateLimiter.Limit(2, 60));
+
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        registry = new SimpleMeterRegistry();
+        limiter = new RateLimiter(true, 100, LIMITS, clock, registry);
+    }
+
+    @Test
+    void burstIsAllowedThenRefillsAtRate() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_IP, "10.0.0.1")).isZero();
+        }
+
+        // 분당 60 → 1초에 하나씩 채워진다
+        long retryAfter = limiter.tryAcquire(RateLimiter.Policy.SMS_IP, "10.0.0.1");
+        assertThat(retryAfter).isEqualTo(1_000);
+        assertThat(RateLimiter.retryAfterSeconds(retryAfter)).isEqualTo(1);
+
+        clock.advance(Duration.ofMillis(400));
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_IP, "10.0.0.1")).isEqualTo(600);
+
+        clock.advance(Duration.ofMillis(600));
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_IP, "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_IP, "10.0.0.1")).isPositive();
+
+        assertThat(registry.get("rate.limit.requests").tag("policy", "sms-ip").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void keysAndPoliciesHaveSeparateBuckets() {
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_PHONE, "01012345678")).isZero();
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_PHONE, "01012345678")).isEqualTo(10_000);
+
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_PHONE, "01087654321")).isZero();
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_IP, "01012345678")).isZero();
+    }
+
+    @Test
+    void idleBucketsArePurged() {
+        limiter.tryAcquire(RateLimiter.Policy.CALLBACK_IP, "10.0.0.1");
+        limiter.tryAcquire(RateLimiter.Policy.CALLBACK_IP, "10.0.0.2");
+        assertThat(limiter.size(RateLimiter.Policy.CALLBACK_IP)).isEqualTo(2);
+
+        clock.advance(Duration.ofMillis(500));
+        limiter.tryAcquire(RateLimiter.Policy.CALLBACK_IP, "10.0.0.2");
+        clock.advance(Duration.ofMillis(600));
+        limiter.purgeIdle();
+
+        // 10.0.0.1 은 다시 가득 찼고, 10.0.0.2 는 아직 채워지는 중이다
+        assertThat(limiter.size(RateLimiter.Policy.CALLBACK_IP)).isEqualTo(1);
+    }
+
+    @Test
+    void keysBeyondCapDoNotShareABucket() {
+        RateLimiter small = new RateLimiter(true, 2, LIMITS, clock, new SimpleMeterRegistry());
+        small.tryAcquire(RateLimiter.Policy.SMS_PHONE, "a");
+        small.tryAcquire(RateLimiter.Policy.SMS_PHONE, "b");
+
+        // 한도를 넘겨 들어온 새 키들도 각자 버킷을 받으므로 서로를 막지 않는다
+        for (int i = 0; i < 50; i++) {
+            assertThat(small.tryAcquire(RateLimiter.Policy.SMS_PHONE, "flood-" + i)).isZero();
+        }
+        assertThat(small.size(RateLimiter.Policy.SMS_PHONE)).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void bucketsExpireOnceTheyWouldBeFullAgain() {
+        limiter.tryAcquire(RateLimiter.Policy.SMS_PHONE, "01012345678");
+        assertThat(limiter.size(RateLimiter.Policy.SMS_PHONE)).isEqualTo(1);
+
+        // 분당 6, burst 1 → 10초면 다시 가득 찬다
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(limiter.size(RateLimiter.Policy.SMS_PHONE)).isZero();
+        assertThat(limiter.tryAcquire(RateLimiter.Policy.SMS_PHONE, "01012345678")).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedBurst() throws InterruptedException {
+        int threads = 8;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire(RateLimiter.Policy.CALLBACK_IP, "10.0.0.1") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(5);
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        RateLimiter disabled = new RateLimiter(false, 100, LIMITS, clock, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(disabled.tryAcquire(RateLimiter.Policy.SMS_PHONE, "01012345678")).isZero();
+        }
+    }
+
+    @Test
+    void invalidLimitIsRejected() {
+        assertThatThrownBy(() -> new RateLimiter(true, 100, Map.of(), clock, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}